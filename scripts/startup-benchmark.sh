@@ -0,0 +1,157 @@
+#!/usr/bin/env bash
+#
+# Measures the time from launching the application to the first answered request for
+#
+#   jvm      the plain executable jar
+#   aot-cds  the jar processed ahead of time with the fast-start profile, started with
+#            a JDK AOT cache (JDK 24+) or a CDS archive (older JDKs) written by a
+#            training run that exercises the owner, vet and visit endpoints
+#   native   the GraalVM native image, when native-image is on the PATH
+#
+# Usage: scripts/startup-benchmark.sh [runs]
+#
+# Runs from the project root with the H2 database. PORT overrides the port (8080),
+# SKIP_BUILD=true reuses the artifacts of a previous run.
+
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-8080}"
+BASE_URL="http://localhost:${PORT}"
+WORK_DIR="target/startup-benchmark"
+FIRST_REQUEST="/owners/1"
+
+cd "$(dirname "$0")/.."
+
+log() {
+	echo "==> $*" >&2
+}
+
+now_ms() {
+	date +%s%3N
+}
+
+wait_for_first_request() {
+	local pid="$1"
+	until curl -fs -o /dev/null "${BASE_URL}${FIRST_REQUEST}"; do
+		if ! kill -0 "$pid" 2>/dev/null; then
+			log "application exited before answering ${FIRST_REQUEST}"
+			return 1
+		fi
+		sleep 0.01
+	done
+}
+
+stop() {
+	local pid="$1"
+	kill -TERM "$pid" 2>/dev/null || true
+	wait "$pid" 2>/dev/null || true
+}
+
+# Starts the command in the background and prints the milliseconds until the first
+# request is answered
+time_to_first_request() {
+	local start pid
+	start="$(now_ms)"
+	"$@" --server.port="${PORT}" >"${WORK_DIR}/last-run.log" 2>&1 &
+	pid=$!
+	wait_for_first_request "$pid"
+	echo $(($(now_ms) - start))
+	stop "$pid"
+}
+
+# Exercises the owner, vet and visit endpoints, so that their classes and the code
+# paths behind them end up in the archive
+train() {
+	local owner="${BASE_URL}/owners/1"
+	curl -fs -o /dev/null "${BASE_URL}/owners/find"
+	curl -fs -o /dev/null "${BASE_URL}/owners?lastName="
+	curl -fs -o /dev/null "${BASE_URL}/owners?lastName=Davis"
+	curl -fs -o /dev/null "${owner}"
+	curl -fs -o /dev/null "${owner}/edit"
+	curl -fs -o /dev/null "${owner}/pets/new"
+	curl -fs -o /dev/null "${owner}/pets/1/edit"
+	curl -fs -o /dev/null "${owner}/pets/1/visits/new"
+	curl -fs -o /dev/null -d "date=2024-01-01&description=training" "${owner}/pets/1/visits/new"
+	curl -fs -o /dev/null "${BASE_URL}/vets.html"
+	curl -fs -o /dev/null -H "Accept: application/json" "${BASE_URL}/vets"
+	curl -fs -o /dev/null "${BASE_URL}/api/owners/1"
+	curl -fs -o /dev/null "${BASE_URL}/api/vets"
+}
+
+summarize() {
+	local mode="$1"
+	shift
+	printf '%s\n' "$@" | sort -n | awk -v mode="$mode" '
+		{ times[NR] = $1 }
+		END {
+			median = NR % 2 ? times[(NR + 1) / 2] : (times[NR / 2] + times[NR / 2 + 1]) / 2
+			printf "%-8s min %6d ms   median %8.1f ms   (%d runs)\n", mode, times[1], median, NR
+		}'
+}
+
+benchmark() {
+	local mode="$1"
+	shift
+	local times=()
+	for _ in $(seq "$RUNS"); do
+		times+=("$(time_to_first_request "$@")")
+	done
+	summarize "$mode" "${times[@]}" >>"${WORK_DIR}/results.txt"
+}
+
+if curl -fs -o /dev/null "${BASE_URL}${FIRST_REQUEST}"; then
+	log "port ${PORT} is already in use"
+	exit 1
+fi
+
+mkdir -p "${WORK_DIR}"
+: >"${WORK_DIR}/results.txt"
+
+if [[ "${SKIP_BUILD:-false}" != "true" ]]; then
+	log "building the jar processed ahead of time with the fast-start profile"
+	./mvnw -B -q -DskipTests -Pfast-start package
+	rm -rf "${WORK_DIR}/app"
+	java -Djarmode=tools -jar target/spring-petclinic-*.jar extract --destination "${WORK_DIR}/app"
+fi
+APP_JAR="$(ls "${WORK_DIR}"/app/spring-petclinic-*.jar)"
+
+log "jvm: ${RUNS} runs"
+benchmark jvm java -jar "${APP_JAR}"
+
+if java -XX:+PrintFlagsFinal -version 2>/dev/null | grep -q AOTCacheOutput; then
+	ARCHIVE="${WORK_DIR}/app.aot"
+	TRAIN_OPTS=(-XX:AOTCacheOutput="${ARCHIVE}")
+	RUN_OPTS=(-XX:AOTCache="${ARCHIVE}")
+else
+	ARCHIVE="${WORK_DIR}/app.jsa"
+	TRAIN_OPTS=(-XX:ArchiveClassesAtExit="${ARCHIVE}")
+	RUN_OPTS=(-XX:SharedArchiveFile="${ARCHIVE}")
+fi
+FAST_START=(-Dspring.aot.enabled=true -jar "${APP_JAR}" --spring.profiles.active=fast-start)
+
+if [[ "${SKIP_BUILD:-false}" != "true" || ! -f "${ARCHIVE}" ]]; then
+	log "training run writing ${ARCHIVE}"
+	rm -f "${ARCHIVE}"
+	java "${TRAIN_OPTS[@]}" "${FAST_START[@]}" --server.port="${PORT}" >"${WORK_DIR}/training.log" 2>&1 &
+	pid=$!
+	wait_for_first_request "$pid"
+	train
+	stop "$pid"
+fi
+
+log "aot-cds: ${RUNS} runs"
+benchmark aot-cds java "${RUN_OPTS[@]}" "${FAST_START[@]}"
+
+if command -v native-image >/dev/null; then
+	if [[ "${SKIP_BUILD:-false}" != "true" || ! -x target/spring-petclinic ]]; then
+		log "building the native image"
+		./mvnw -B -q -DskipTests -Pnative,fast-start native:compile
+	fi
+	log "native: ${RUNS} runs"
+	benchmark native target/spring-petclinic --spring.profiles.active=fast-start
+else
+	log "native-image not found, skipping the native image"
+fi
+
+cat "${WORK_DIR}/results.txt"
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.owner;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jspecify.annotations.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.samples.petclinic.PetClinicApplication;
+import org.springframework.samples.petclinic.owner.OwnerRecord.PetRecord;
+import org.springframework.samples.petclinic.owner.OwnerRecord.VisitRecord;
+
+/**
+ * Compares importing the given number of owners, each with a pet and a visit, through the
+ * batched {@link OwnerImporter} with saving them one at a time through
+ * {@link OwnerRepository#save(Object)}, as the owner form does. Every invocation adds the
+ * owners to the embedded H2 database of the benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class OwnerImportBenchmarks {
+
+	@Param({ "1000", "20000" })
+	private int owners;
+
+	private ConfigurableApplicationContext context;
+
+	private OwnerImporter importer;
+
+	private OwnerRepository repository;
+
+	private PetType dog;
+
+	@Setup
+	public void setup() {
+		this.context = new SpringApplicationBuilder(PetClinicApplication.class)
+			.properties("server.port=0", "spring.main.banner-mode=off", "logging.level.root=WARN",
+					"spring.docker.compose.enabled=false", "spring.datasource.url=jdbc:h2:mem:import" + this.owners)
+			.run();
+		this.importer = this.context.getBean(OwnerImporter.class);
+		this.repository = this.context.getBean(OwnerRepository.class);
+		this.dog = this.context.getBean(PetTypeRepository.class)
+			.findPetTypes()
+			.stream()
+			.filter(type -> "dog".equals(type.getName()))
+			.findFirst()
+			.orElseThrow();
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public long batchedImport() {
+		OwnerImport ownerImport = this.importer.start();
+		this.importer.run(ownerImport, new SyntheticOwners(this.owners));
+		if (ownerImport.status().ownersImported() != this.owners) {
+			throw new IllegalStateException("Import failed: " + ownerImport.status());
+		}
+		return ownerImport.status().ownersImported();
+	}
+
+	@Benchmark
+	public int rowAtATime() {
+		for (int i = 0; i < this.owners; i++) {
+			OwnerRecord record = owner(i);
+			PetRecord petRecord = record.pets().get(0);
+			Owner owner = new Owner();
+			owner.setFirstName(record.firstName());
+			owner.setLastName(record.lastName());
+			owner.setAddress(record.address());
+			owner.setCity(record.city());
+			owner.setTelephone(record.telephone());
+			Pet pet = new Pet();
+			pet.setName(petRecord.name());
+			pet.setBirthDate(petRecord.birthDate());
+			pet.setType(this.dog);
+			Visit visit = new Visit();
+			visit.setDate(petRecord.visits().get(0).date());
+			visit.setDescription(petRecord.visits().get(0).description());
+			pet.addVisit(visit);
+			owner.addPet(pet);
+			this.repository.save(owner);
+		}
+		return this.owners;
+	}
+
+	private static OwnerRecord owner(int i) {
+		return new OwnerRecord(null, "First" + i, "Last" + i, i + " Main St.", "Madison", "6085550000",
+				List.of(new PetRecord(null, "Pet" + i, LocalDate.of(2020, 1, 1), "dog",
+						List.of(new VisitRecord(null, LocalDate.of(2024, 1, 1), "checkup")))));
+	}
+
+	/**
+	 * Generates owners without materializing them all at once.
+	 */
+	private static final class SyntheticOwners extends OwnerRecordReader {
+
+		private final int count;
+
+		private int next;
+
+		SyntheticOwners(int count) {
+			this.count = count;
+		}
+
+		@Override
+		@Nullable OwnerRecord next() {
+			return (this.next < this.count) ? owner(this.next++) : null;
+		}
+
+		@Override
+		long line() {
+			return this.next;
+		}
+
+	}
+
+}
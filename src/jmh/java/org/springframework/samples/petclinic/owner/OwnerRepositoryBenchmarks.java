@@ -0,0 +1,164 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.owner;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.jspecify.annotations.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.samples.petclinic.PetClinicApplication;
+import org.springframework.samples.petclinic.owner.OwnerRecord.PetRecord;
+import org.springframework.samples.petclinic.owner.OwnerRecord.VisitRecord;
+
+/**
+ * Benchmarks the owner queries against an embedded H2 database that holds the sample data
+ * plus the given number of synthetic owners, each with two pets and two visits per pet.
+ * The owners are spread over a fixed set of last names, so a prefix search matches about
+ * one in twenty owners.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OwnerRepositoryBenchmarks {
+
+	private static final String[] LAST_NAMES = { "Adams", "Baker", "Clark", "Davis", "Evans", "Foster", "Garcia",
+			"Harris", "Irwin", "Jones", "King", "Lewis", "Miller", "Nelson", "Owens", "Parker", "Quinn", "Roberts",
+			"Smith", "Turner" };
+
+	private static final int PAGE_SIZE = 5;
+
+	@Param({ "1000", "100000" })
+	private int owners;
+
+	private ConfigurableApplicationContext context;
+
+	private OwnerRepository repository;
+
+	private int maxId;
+
+	@Setup
+	public void setup() {
+		this.context = new SpringApplicationBuilder(PetClinicApplication.class)
+			.properties("server.port=0", "spring.main.banner-mode=off", "logging.level.root=WARN",
+					"spring.docker.compose.enabled=false", "spring.datasource.url=jdbc:h2:mem:benchmark" + this.owners)
+			.run();
+		this.repository = this.context.getBean(OwnerRepository.class);
+		OwnerImporter importer = this.context.getBean(OwnerImporter.class);
+		OwnerImport ownerImport = importer.start();
+		importer.run(ownerImport, new SyntheticOwners(this.owners));
+		if (ownerImport.status().ownersImported() != this.owners) {
+			throw new IllegalStateException("Seeding failed: " + ownerImport.status());
+		}
+		this.maxId = (int) this.repository.count();
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public Page<OwnerSummary> findSummariesFirstPage() {
+		return this.repository.findSummariesByLastNameStartingWith("Dav", PageRequest.of(0, PAGE_SIZE));
+	}
+
+	@Benchmark
+	public Page<OwnerSummary> findSummariesDeepPage() {
+		int lastPage = this.owners / LAST_NAMES.length / PAGE_SIZE;
+		return this.repository.findSummariesByLastNameStartingWith("Dav", PageRequest.of(lastPage, PAGE_SIZE));
+	}
+
+	@Benchmark
+	public Slice<OwnerSummary> findSummarySliceFirstPage() {
+		return this.repository.findSummarySliceByLastNameStartingWith("Dav", PageRequest.of(0, PAGE_SIZE));
+	}
+
+	@Benchmark
+	public Window<OwnerSummary> findSummariesFirstWindow() {
+		return this.repository.findSummariesByLastNameStartingWith("Dav", ScrollPosition.keyset(), PAGE_SIZE);
+	}
+
+	@Benchmark
+	public Page<Owner> findOwnersFirstPage() {
+		return this.repository.findByLastNameStartingWith("Dav", PageRequest.of(0, PAGE_SIZE));
+	}
+
+	@Benchmark
+	public Optional<Owner> findWithPetsAndVisitsById() {
+		return this.repository.findWithPetsAndVisitsById(ThreadLocalRandom.current().nextInt(1, this.maxId + 1));
+	}
+
+	/**
+	 * Generates owners without materializing them all at once.
+	 */
+	private static final class SyntheticOwners extends OwnerRecordReader {
+
+		private final int count;
+
+		private int next;
+
+		SyntheticOwners(int count) {
+			this.count = count;
+		}
+
+		@Override
+		@Nullable OwnerRecord next() {
+			if (this.next == this.count) {
+				return null;
+			}
+			int i = this.next++;
+			LocalDate birthDate = LocalDate.of(2010, 1, 1).plusDays(i % 3650);
+			List<VisitRecord> visits = List.of(new VisitRecord(null, birthDate.plusYears(1), "checkup"),
+					new VisitRecord(null, birthDate.plusYears(2), "vaccination"));
+			return new OwnerRecord(null, "First" + i, LAST_NAMES[i % LAST_NAMES.length], i + " Main St.", "Madison",
+					"6085550000", List.of(new PetRecord(null, "Cat" + i, birthDate, "cat", visits),
+							new PetRecord(null, "Dog" + i, birthDate, "dog", visits)));
+		}
+
+		@Override
+		long line() {
+			return this.next;
+		}
+
+	}
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.owner;
+
+import java.lang.reflect.Proxy;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link PetTypeFormatter#parse(String, Locale)} as done for every pet form
+ * submission and for every option of the pet type select. The repository is replaced by a
+ * stub returning the same list, as the "petTypes" cache does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PetTypeFormatterBenchmarks {
+
+	@Param({ "6", "100" })
+	private int types;
+
+	private PetTypeFormatter formatter;
+
+	private String lastType;
+
+	@Setup
+	public void setup() {
+		List<PetType> petTypes = new ArrayList<>();
+		for (int i = 1; i <= this.types; i++) {
+			PetType type = new PetType();
+			type.setId(i);
+			type.setName("type" + i);
+			petTypes.add(type);
+		}
+		PetTypeRepository repository = (PetTypeRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[] { PetTypeRepository.class },
+				(proxy, method, args) -> "findPetTypes".equals(method.getName()) ? petTypes : null);
+		this.formatter = new PetTypeFormatter(repository);
+		this.lastType = "type" + this.types;
+	}
+
+	@Benchmark
+	public PetType parse() throws ParseException {
+		return this.formatter.parse(this.lastType, Locale.ENGLISH);
+	}
+
+}
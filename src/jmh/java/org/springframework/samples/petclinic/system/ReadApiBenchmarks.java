@@ -0,0 +1,182 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.samples.petclinic.PetClinicApplication;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/**
+ * Compares the latency of the blocking MVC endpoints with the asynchronous read API under
+ * more concurrent clients than there are pooled connections. The sample mode reports the
+ * latency percentiles including p99. The peak number of active connections and of threads
+ * waiting for a connection is sampled from the pool and reported per iteration as the
+ * <code>peakActive</code> and <code>peakAwaiting</code> secondary results, see
+ * {@link Connections}: blocking requests queue up inside the pool while holding a
+ * container thread each, whereas the read API never runs more handlers than there are
+ * connections.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(128)
+public class ReadApiBenchmarks {
+
+	private static final int SAMPLE_OWNERS = 10;
+
+	private static final int POOL_SIZE = 10;
+
+	@Param({ "mvc", "api" })
+	private String endpoints;
+
+	private ConfigurableApplicationContext context;
+
+	private HttpClient client;
+
+	private String baseUrl;
+
+	private String prefix;
+
+	private ScheduledExecutorService sampler;
+
+	private final AtomicInteger peakActive = new AtomicInteger();
+
+	private final AtomicInteger peakAwaiting = new AtomicInteger();
+
+	@Setup
+	public void setup() {
+		this.context = new SpringApplicationBuilder(PetClinicApplication.class)
+			.properties("server.port=0", "spring.main.banner-mode=off", "logging.level.root=WARN",
+					"spring.docker.compose.enabled=false", "spring.datasource.url=jdbc:h2:mem:read-" + this.endpoints,
+					"spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE, "petclinic.api.threads=" + POOL_SIZE)
+			.run();
+		this.baseUrl = "http://localhost:" + this.context.getEnvironment().getProperty("local.server.port");
+		this.prefix = "api".equals(this.endpoints) ? "/api" : "";
+		this.client = HttpClient.newHttpClient();
+		HikariPoolMXBean pool = this.context.getBean(HikariDataSource.class).getHikariPoolMXBean();
+		this.sampler = Executors.newSingleThreadScheduledExecutor();
+		this.sampler.scheduleAtFixedRate(() -> {
+			this.peakActive.accumulateAndGet(pool.getActiveConnections(), Math::max);
+			this.peakAwaiting.accumulateAndGet(pool.getThreadsAwaitingConnection(), Math::max);
+		}, 0, 1, TimeUnit.MILLISECONDS);
+	}
+
+	@Setup(Level.Iteration)
+	public void resetPeaks() {
+		this.peakActive.set(0);
+		this.peakAwaiting.set(0);
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.sampler.shutdownNow();
+		this.context.close();
+	}
+
+	@Benchmark
+	public int ownerDetails(Connections connections) throws IOException, InterruptedException {
+		return connections.record(this,
+				get(this.prefix + "/owners/" + ThreadLocalRandom.current().nextInt(1, SAMPLE_OWNERS + 1), "*/*"));
+	}
+
+	@Benchmark
+	public int ownerSearch(Connections connections) throws IOException, InterruptedException {
+		return connections.record(this, "api".equals(this.endpoints)
+				? get("/api/owners?lastName=", "application/x-ndjson") : get("/owners?lastName=", "text/html"));
+	}
+
+	@Benchmark
+	public int vets(Connections connections) throws IOException, InterruptedException {
+		return connections.record(this, get(this.prefix + "/vets", "application/json"));
+	}
+
+	private int get(String path, String accept) throws IOException, InterruptedException {
+		HttpRequest request = HttpRequest.newBuilder(URI.create(this.baseUrl + path)).header("Accept", accept).build();
+		HttpResponse<byte[]> response = this.client.send(request, BodyHandlers.ofByteArray());
+		if (response.statusCode() != 200) {
+			throw new IllegalStateException("GET " + path + " returned " + response.statusCode());
+		}
+		return response.body().length;
+	}
+
+	/**
+	 * Reports the peak number of active connections and of threads waiting for a
+	 * connection during an iteration as secondary results of the benchmarks. JMH sums
+	 * these counters over the benchmark threads, so only the first thread reports the
+	 * peaks and the others report zero.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Connections {
+
+		public long peakActive;
+
+		public long peakAwaiting;
+
+		private boolean reporting;
+
+		@Setup(Level.Iteration)
+		public void reset(ThreadParams threadParams) {
+			this.reporting = threadParams.getThreadIndex() == 0;
+			this.peakActive = 0;
+			this.peakAwaiting = 0;
+		}
+
+		int record(ReadApiBenchmarks benchmarks, int result) {
+			if (this.reporting) {
+				this.peakActive = benchmarks.peakActive.get();
+				this.peakAwaiting = benchmarks.peakAwaiting.get();
+			}
+			return result;
+		}
+
+	}
+
+}
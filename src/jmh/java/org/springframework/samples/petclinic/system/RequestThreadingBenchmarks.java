@@ -0,0 +1,118 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.samples.petclinic.PetClinicApplication;
+
+/**
+ * Compares serving the owner and vet pages on the platform thread pool of Tomcat with
+ * serving them on virtual threads, using the <code>virtual-threads</code> profile. Both
+ * run with the same connection pool size and are driven by more concurrent clients than
+ * there are connections. The throughput mode shows requests per second, the sample mode
+ * the latency percentiles including p99.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(64)
+public class RequestThreadingBenchmarks {
+
+	private static final int SAMPLE_OWNERS = 10;
+
+	@Param({ "platform", "virtual" })
+	private String threads;
+
+	private ConfigurableApplicationContext context;
+
+	private HttpClient client;
+
+	private String baseUrl;
+
+	@Setup
+	public void setup() {
+		boolean virtual = "virtual".equals(this.threads);
+		if (virtual && Runtime.version().feature() < 21) {
+			throw new IllegalStateException("Virtual threads require Java 21 or later");
+		}
+		SpringApplicationBuilder builder = new SpringApplicationBuilder(PetClinicApplication.class).properties(
+				"server.port=0", "spring.main.banner-mode=off", "logging.level.root=WARN",
+				"spring.docker.compose.enabled=false", "spring.datasource.url=jdbc:h2:mem:threading-" + this.threads,
+				"spring.datasource.hikari.maximum-pool-size=20", "spring.datasource.hikari.minimum-idle=20");
+		if (virtual) {
+			builder.profiles("virtual-threads");
+		}
+		this.context = builder.run();
+		this.baseUrl = "http://localhost:" + this.context.getEnvironment().getProperty("local.server.port");
+		this.client = HttpClient.newHttpClient();
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public int ownerList() throws IOException, InterruptedException {
+		return get("/owners?lastName=");
+	}
+
+	@Benchmark
+	public int ownerDetails() throws IOException, InterruptedException {
+		return get("/owners/" + ThreadLocalRandom.current().nextInt(1, SAMPLE_OWNERS + 1));
+	}
+
+	@Benchmark
+	public int vetList() throws IOException, InterruptedException {
+		return get("/vets.html");
+	}
+
+	private int get(String path) throws IOException, InterruptedException {
+		HttpResponse<byte[]> response = this.client
+			.send(HttpRequest.newBuilder(URI.create(this.baseUrl + path)).build(), BodyHandlers.ofByteArray());
+		if (response.statusCode() != 200) {
+			throw new IllegalStateException("GET " + path + " returned " + response.statusCode());
+		}
+		return response.body().length;
+	}
+
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.model;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the <code>ignore_case(text)</code> query function, used on both sides of a
+ * comparison that has to ignore case while still being served by an index.
+ * <p>
+ * The columns searched this way are declared case-insensitive in the H2, HSQLDB and MySQL
+ * schemas (<code>VARCHAR_IGNORECASE</code> and a <code>_ci</code> collation), so the
+ * function leaves its argument as is there. PostgreSQL has no such column type that
+ * supports <code>LIKE</code> through a B-tree index, so the function lower cases its
+ * argument there in the "C" collation, matching the <code>lower(...) COLLATE "C"</code>
+ * expression indexes of the PostgreSQL schema. In that collation the same index serves
+ * the prefix match, the range comparisons and the ordering of a keyset query.
+ */
+public class IgnoreCaseFunctionContributor implements FunctionContributor {
+
+	@Override
+	public void contributeFunctions(FunctionContributions functionContributions) {
+		String pattern = (functionContributions.getDialect() instanceof PostgreSQLDialect) ? "(lower(?1) COLLATE \"C\")"
+				: "?1";
+		functionContributions.getFunctionRegistry()
+			.registerPattern("ignore_case", pattern,
+					functionContributions.getTypeConfiguration()
+						.getBasicTypeRegistry()
+						.resolve(StandardBasicTypes.STRING));
+	}
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.samples.petclinic.owner.LastNameTrie.Suggestion;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Completes last names from a {@link LastNameTrie} of the last names of all owners,
+ * without a database round trip. The trie is seeded once the application is ready and
+ * updated whenever an {@link OwnersChanged} event commits, see {@link OwnerIndex}.
+ * <p>
+ * The number of distinct last names, the number of trie nodes and the estimated memory of
+ * the trie are published as the <code>petclinic.owners.last-names</code> metrics.
+ */
+@Component
+class LastNameSuggestions extends OwnerIndex<OwnerLastName> implements MeterBinder {
+
+	private final OwnerRepository owners;
+
+	private final LastNameTrie trie = new LastNameTrie();
+
+	private final Map<Integer, String> lastNames = new HashMap<>();
+
+	LastNameSuggestions(OwnerRepository owners, PlatformTransactionManager transactionManager) {
+		super(transactionManager, "last-name-suggestions-");
+		this.owners = owners;
+	}
+
+	@Override
+	List<OwnerLastName> findAll() {
+		return this.owners.findLastNamesBy();
+	}
+
+	@Override
+	List<OwnerLastName> findByIds(Collection<Integer> ids) {
+		return this.owners.findLastNamesByIdIn(ids);
+	}
+
+	@Override
+	void rebuild(List<OwnerLastName> all) {
+		// owners are never deleted, so counting every last name again replaces them all
+		update(List.of(), all);
+	}
+
+	@Override
+	void update(Collection<Integer> ids, List<OwnerLastName> changed) {
+		for (OwnerLastName owner : changed) {
+			String lastName = owner.lastName();
+			String previous = (lastName != null) ? this.lastNames.put(owner.id(), lastName)
+					: this.lastNames.remove(owner.id());
+			if (previous != null) {
+				this.trie.remove(previous);
+			}
+			if (lastName != null) {
+				this.trie.add(lastName);
+			}
+		}
+	}
+
+	/**
+	 * Return the most frequent last names starting with the given prefix, ignoring case.
+	 * @param prefix the prefix to complete
+	 * @param limit the maximum number of suggestions
+	 * @return the suggestions, most frequent first and then alphabetically
+	 */
+	List<Suggestion> suggest(String prefix, int limit) {
+		return read(() -> this.trie.suggest(prefix, limit));
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("petclinic.owners.last-names", () -> read(this.trie::size))
+			.description("Distinct owner last names available for completion")
+			.register(registry);
+		Gauge.builder("petclinic.owners.last-names.trie.nodes", () -> read(this.trie::nodeCount))
+			.description("Nodes of the owner last name trie")
+			.register(registry);
+		Gauge.builder("petclinic.owners.last-names.trie.memory", () -> read(this.trie::estimateMemory))
+			.description("Estimated memory retained by the owner last name trie")
+			.baseUnit("bytes")
+			.register(registry);
+	}
+
+}
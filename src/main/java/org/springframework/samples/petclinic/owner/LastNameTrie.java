@@ -0,0 +1,352 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Radix tree of distinct last names, each with the number of owners having it. Names are
+ * compared ignoring case and suggested with the spelling they were first added with.
+ * Chains of nodes with a single child are merged into one node labelled with the whole
+ * chain, so the tree has at most twice as many nodes as distinct names.
+ * <p>
+ * Every node also keeps the highest count below it, so that suggestions are collected
+ * best first and only the branches that can still hold one of them are visited, however
+ * short the prefix is.
+ * <p>
+ * Not thread-safe, see {@link LastNameSuggestions}.
+ */
+class LastNameTrie {
+
+	private static final Node[] NO_CHILDREN = {};
+
+	// assuming compressed oops: object header, three references and two ints
+	private static final int NODE_BYTES = 32;
+
+	private static final int STRING_BYTES = 24;
+
+	private static final int ARRAY_BYTES = 16;
+
+	private static final int REFERENCE_BYTES = 4;
+
+	// highest count first, then alphabetically, and a branch before the name of its node
+	private static final Comparator<Candidate> BEST_FIRST = Comparator.comparingInt(Candidate::count)
+		.reversed()
+		.thenComparing(Candidate::key)
+		.thenComparing(Candidate::named);
+
+	private final Node root = new Node("");
+
+	private int size;
+
+	/**
+	 * Return the number of distinct last names.
+	 */
+	int size() {
+		return this.size;
+	}
+
+	/**
+	 * Count one more owner with the given last name.
+	 * @param lastName the last name
+	 */
+	void add(String lastName) {
+		String key = lastName.toLowerCase(Locale.ROOT);
+		List<Node> path = new ArrayList<>();
+		Node node = this.root;
+		while (!key.isEmpty()) {
+			path.add(node);
+			Node child = node.child(key.charAt(0));
+			if (child == null) {
+				child = new Node(key);
+				node.addChild(child);
+			}
+			else {
+				int common = commonPrefixLength(child.label, key);
+				if (common < child.label.length()) {
+					child = split(node, child, common);
+				}
+			}
+			key = key.substring(child.label.length());
+			node = child;
+		}
+		if (node.count++ == 0) {
+			node.name = lastName;
+			this.size++;
+		}
+		// counts only grow here, so every node on the path keeps the larger maximum
+		path.add(node);
+		for (Node onPath : path) {
+			onPath.max = Math.max(onPath.max, node.count);
+		}
+	}
+
+	/**
+	 * Count one owner less with the given last name.
+	 * @param lastName the last name
+	 */
+	void remove(String lastName) {
+		String key = lastName.toLowerCase(Locale.ROOT);
+		Deque<Node> path = new ArrayDeque<>();
+		Node node = this.root;
+		while (!key.isEmpty()) {
+			Node child = node.child(key.charAt(0));
+			if (child == null || !key.startsWith(child.label)) {
+				return;
+			}
+			path.push(node);
+			key = key.substring(child.label.length());
+			node = child;
+		}
+		if (node.count == 0) {
+			return;
+		}
+		if (--node.count == 0) {
+			node.name = null;
+			this.size--;
+			// drop the node if it has become a leaf, then merge what is left into a chain
+			while (!path.isEmpty() && node.name == null && node.children.length == 0) {
+				Node parent = path.pop();
+				parent.removeChild(node);
+				node = parent;
+			}
+			if (node != this.root && node.name == null && node.children.length == 1) {
+				Node child = node.children[0];
+				node.label = node.label + child.label;
+				node.name = child.name;
+				node.count = child.count;
+				node.children = child.children;
+			}
+		}
+		node.updateMax();
+		while (!path.isEmpty()) {
+			path.pop().updateMax();
+		}
+	}
+
+	/**
+	 * Return the most frequent last names starting with the given prefix, ignoring case.
+	 * @param prefix the prefix to complete
+	 * @param limit the maximum number of suggestions
+	 * @return the suggestions, most frequent first and then alphabetically ignoring case
+	 */
+	List<Suggestion> suggest(String prefix, int limit) {
+		if (limit < 1) {
+			return List.of();
+		}
+		String key = prefix.toLowerCase(Locale.ROOT);
+		StringBuilder path = new StringBuilder();
+		Node node = this.root;
+		while (!key.isEmpty()) {
+			Node child = node.child(key.charAt(0));
+			if (child == null) {
+				return List.of();
+			}
+			if (key.length() <= child.label.length()) {
+				if (!child.label.startsWith(key)) {
+					return List.of();
+				}
+				key = "";
+			}
+			else if (key.startsWith(child.label)) {
+				key = key.substring(child.label.length());
+			}
+			else {
+				return List.of();
+			}
+			path.append(child.label);
+			node = child;
+		}
+		// a name is taken once no branch left can hold a better one: the branches are
+		// ordered by the highest count below them and the names under a branch are never
+		// alphabetically before its own key
+		List<Suggestion> suggestions = new ArrayList<>(limit);
+		PriorityQueue<Candidate> pending = new PriorityQueue<>(BEST_FIRST);
+		pending.add(new Candidate(node, path.toString(), false));
+		while (!pending.isEmpty() && suggestions.size() < limit) {
+			Candidate next = pending.remove();
+			Node candidate = next.node();
+			String name = candidate.name;
+			if (next.named()) {
+				suggestions.add(new Suggestion(Objects.requireNonNull(name), candidate.count));
+				continue;
+			}
+			if (name != null) {
+				pending.add(new Candidate(candidate, next.key(), true));
+			}
+			for (Node child : candidate.children) {
+				pending.add(new Candidate(child, next.key() + child.label, false));
+			}
+		}
+		return suggestions;
+	}
+
+	/**
+	 * Return the number of nodes, not counting the root.
+	 */
+	int nodeCount() {
+		int count = 0;
+		Deque<Node> pending = new ArrayDeque<>(List.of(this.root));
+		while (!pending.isEmpty()) {
+			Node node = pending.pop();
+			count += node.children.length;
+			pending.addAll(Arrays.asList(node.children));
+		}
+		return count;
+	}
+
+	/**
+	 * Estimate the number of bytes retained by the tree, including the labels and names
+	 * of its nodes. Names are shared with the owners they were first added from, but are
+	 * counted anyway.
+	 */
+	long estimateMemory() {
+		long bytes = 0;
+		Deque<Node> pending = new ArrayDeque<>(List.of(this.root));
+		while (!pending.isEmpty()) {
+			Node node = pending.pop();
+			bytes += NODE_BYTES + stringBytes(node.label);
+			String name = node.name;
+			if (name != null) {
+				bytes += stringBytes(name);
+			}
+			if (node.children.length > 0) {
+				bytes += ARRAY_BYTES + (long) REFERENCE_BYTES * node.children.length;
+			}
+			pending.addAll(Arrays.asList(node.children));
+		}
+		return bytes;
+	}
+
+	private static long stringBytes(String value) {
+		return value.isEmpty() ? 0 : STRING_BYTES + ARRAY_BYTES + value.length();
+	}
+
+	private static Node split(Node parent, Node child, int at) {
+		Node head = new Node(child.label.substring(0, at));
+		head.max = child.max;
+		child.label = child.label.substring(at);
+		head.addChild(child);
+		parent.replaceChild(child, head);
+		return head;
+	}
+
+	private static int commonPrefixLength(String a, String b) {
+		int length = Math.min(a.length(), b.length());
+		int i = 0;
+		while (i < length && a.charAt(i) == b.charAt(i)) {
+			i++;
+		}
+		return i;
+	}
+
+	/**
+	 * A last name and the number of owners having it.
+	 *
+	 * @param lastName the last name
+	 * @param count the number of owners
+	 */
+	record Suggestion(String lastName, int count) {
+
+	}
+
+	/**
+	 * A node to collect suggestions from, ranked by the count of its name or by the
+	 * highest count below it.
+	 *
+	 * @param node the node
+	 * @param key the lower case path of the node
+	 * @param named whether the candidate is the name of the node rather than its branch
+	 */
+	private record Candidate(Node node, String key, boolean named) {
+
+		int count() {
+			return this.named ? this.node.count : this.node.max;
+		}
+
+	}
+
+	private static final class Node {
+
+		private String label;
+
+		private Node[] children = NO_CHILDREN;
+
+		private @Nullable String name;
+
+		private int count;
+
+		// the highest count of this node and the nodes below it
+		private int max;
+
+		private Node(String label) {
+			this.label = label;
+		}
+
+		private @Nullable Node child(char first) {
+			for (Node child : this.children) {
+				if (child.label.charAt(0) == first) {
+					return child;
+				}
+			}
+			return null;
+		}
+
+		private void addChild(Node child) {
+			this.children = Arrays.copyOf(this.children, this.children.length + 1);
+			this.children[this.children.length - 1] = child;
+		}
+
+		private void updateMax() {
+			int max = this.count;
+			for (Node child : this.children) {
+				max = Math.max(max, child.max);
+			}
+			this.max = max;
+		}
+
+		private void replaceChild(Node child, Node replacement) {
+			for (int i = 0; i < this.children.length; i++) {
+				if (this.children[i] == child) {
+					this.children[i] = replacement;
+				}
+			}
+		}
+
+		private void removeChild(Node child) {
+			Node[] remaining = new Node[this.children.length - 1];
+			int i = 0;
+			for (Node candidate : this.children) {
+				if (candidate != child) {
+					remaining[i++] = candidate;
+				}
+			}
+			this.children = remaining;
+		}
+
+	}
+
+}
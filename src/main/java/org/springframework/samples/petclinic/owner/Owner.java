@@ -15,11 +15,15 @@
  */
 package org.springframework.samples.petclinic.owner;
 
-import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Objects;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 import org.springframework.core.style.ToStringCreator;
+import org.springframework.data.domain.DomainEvents;
 import org.springframework.samples.petclinic.model.Person;
 import org.springframework.util.Assert;
 
@@ -31,6 +35,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OrderBy;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.NotBlank;
 import org.jspecify.annotations.Nullable;
@@ -62,10 +67,20 @@ public class Owner extends Person {
 	@Pattern(regexp = "\\d{10}", message = "{telephone.invalid}")
 	private @Nullable String telephone;
 
-	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
 	@JoinColumn(name = "owner_id")
 	@OrderBy("name")
-	private final List<Pet> pets = new ArrayList<>();
+	private final Set<Pet> pets = new LinkedHashSet<>();
+
+	/**
+	 * The version of the whole owner aggregate. Saving the owner increments it, and so do
+	 * saving one of its pets and booking a visit, see
+	 * {@link OwnerRepository#incrementVersion(Integer)}.
+	 */
+	@Version
+	private @Nullable Integer version;
+
+	private transient @Nullable PetIndex petIndex;
 
 	public @Nullable String getAddress() {
 		return this.address;
@@ -91,13 +106,37 @@ public class Owner extends Person {
 		this.telephone = telephone;
 	}
 
+	public @Nullable Integer getVersion() {
+		return this.version;
+	}
+
+	public void setVersion(@Nullable Integer version) {
+		this.version = version;
+	}
+
+	/**
+	 * Announce that this owner has been saved, so that {@link OwnerSearch} and
+	 * {@link LastNameSuggestions} reindex it.
+	 * @return the events published by the repository after saving this owner
+	 */
+	@DomainEvents
+	List<OwnersChanged> ownersChanged() {
+		return OwnersChanged.of(getId());
+	}
+
+	/**
+	 * Return the pets of this owner, ordered by name. The pets are kept in a set so that
+	 * fetching them together with their visits cannot duplicate them.
+	 * @return an unmodifiable list of the pets
+	 */
 	public List<Pet> getPets() {
-		return this.pets;
+		return petIndex().pets();
 	}
 
 	public void addPet(Pet pet) {
 		if (pet.isNew()) {
-			getPets().add(pet);
+			this.pets.add(pet);
+			invalidatePetIndex();
 		}
 	}
 
@@ -116,15 +155,7 @@ public class Owner extends Person {
 	 * @return the Pet with the given id, or null if no such Pet exists for this Owner
 	 */
 	public @Nullable Pet getPet(Integer id) {
-		for (Pet pet : getPets()) {
-			if (!pet.isNew()) {
-				Integer compId = pet.getId();
-				if (Objects.equals(compId, id)) {
-					return pet;
-				}
-			}
-		}
-		return null;
+		return petIndex().byId().get(id);
 	}
 
 	/**
@@ -134,15 +165,28 @@ public class Owner extends Person {
 	 * @return the Pet with the given name, or null if no such Pet exists for this Owner
 	 */
 	public @Nullable Pet getPet(String name, boolean ignoreNew) {
-		for (Pet pet : getPets()) {
-			String compName = pet.getName();
-			if (compName != null && compName.equalsIgnoreCase(name)) {
-				if (!ignoreNew || !pet.isNew()) {
-					return pet;
-				}
-			}
+		PetIndex index = petIndex();
+		return (ignoreNew ? index.savedByName() : index.byName()).get(PetIndex.fold(name));
+	}
+
+	/**
+	 * Drop the pet index, called whenever a pet is added or renamed.
+	 */
+	void invalidatePetIndex() {
+		this.petIndex = null;
+	}
+
+	/**
+	 * Return the index of the current pets. An index that contains new pets is not kept,
+	 * as saving them assigns their ids behind the index's back.
+	 */
+	private PetIndex petIndex() {
+		PetIndex index = this.petIndex;
+		if (index == null || index.source() != this.pets || index.pets().size() != this.pets.size()) {
+			index = PetIndex.of(this, this.pets);
+			this.petIndex = index.containsNew() ? null : index;
 		}
-		return null;
+		return index;
 	}
 
 	@Override
@@ -174,4 +218,51 @@ public class Owner extends Person {
 		pet.addVisit(visit);
 	}
 
+	/**
+	 * Lookup tables over the pets of an owner.
+	 *
+	 * @param source the collection the index was built from
+	 * @param pets the pets in collection order
+	 * @param byId the saved pets by id
+	 * @param byName the first pet per case-folded name
+	 * @param savedByName the first saved pet per case-folded name
+	 * @param containsNew whether any of the pets was new when the index was built
+	 */
+	private record PetIndex(Set<Pet> source, List<Pet> pets, Map<Integer, Pet> byId, Map<String, Pet> byName,
+			Map<String, Pet> savedByName, boolean containsNew) {
+
+		static PetIndex of(Owner owner, Set<Pet> source) {
+			List<Pet> pets = List.copyOf(source);
+			Map<Integer, Pet> byId = new HashMap<>();
+			Map<String, Pet> byName = new HashMap<>();
+			Map<String, Pet> savedByName = new HashMap<>();
+			boolean containsNew = false;
+			for (Pet pet : pets) {
+				pet.setIndexedBy(owner);
+				Integer id = pet.getId();
+				String name = pet.getName();
+				containsNew |= (id == null);
+				if (id != null) {
+					byId.putIfAbsent(id, pet);
+				}
+				if (name != null) {
+					byName.putIfAbsent(fold(name), pet);
+					if (id != null) {
+						savedByName.putIfAbsent(fold(name), pet);
+					}
+				}
+			}
+			return new PetIndex(source, pets, byId, byName, savedByName, containsNew);
+		}
+
+		/**
+		 * Fold the case of the given name the way {@link String#equalsIgnoreCase}
+		 * compares characters.
+		 */
+		static String fold(String name) {
+			return name.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+		}
+
+	}
+
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.samples.petclinic.system.ApiExecutor;
+import org.springframework.stereotype.Controller;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Read API for integration clients. Requests are handled asynchronously: the container
+ * thread is released as soon as the handler returned and the database work runs on the
+ * {@link ApiExecutor}, whose size bounds the connections used by the API. The handlers
+ * still use the blocking JPA repositories, on a thread of that pool instead of a
+ * container thread.
+ * <p>
+ * The owner search streams one JSON document per owner from a database cursor, sending
+ * the documents of one fetch of rows at a time. Sending blocks while the client does not
+ * keep up, which in turn pauses reading from the cursor, so a slow client holds no more
+ * than one fetch of rows in memory. The stream is aborted once the stream timeout of the
+ * {@link ApiExecutor} elapsed.
+ */
+@Controller
+@RequestMapping("/api/owners")
+class OwnerApiController {
+
+	private final OwnerRepository owners;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final JsonMapper jsonMapper;
+
+	private final ApiExecutor executor;
+
+	OwnerApiController(OwnerRepository owners, PlatformTransactionManager transactionManager, JsonMapper jsonMapper,
+			ApiExecutor executor) {
+		this.owners = owners;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setReadOnly(true);
+		this.jsonMapper = jsonMapper;
+		this.executor = executor;
+	}
+
+	@GetMapping(value = "/{ownerId}", produces = MediaType.APPLICATION_JSON_VALUE)
+	public WebAsyncTask<ResponseEntity<OwnerRecord>> findOwner(@PathVariable int ownerId) {
+		return this.executor.task(() -> {
+			Optional<OwnerRecord> owner = this.transactionTemplate
+				.execute(status -> this.owners.findWithPetsAndVisitsById(ownerId).map(OwnerRecord::of));
+			return ResponseEntity.of(Objects.requireNonNull(owner));
+		});
+	}
+
+	@GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<ResponseBodyEmitter> findOwners(@RequestParam(defaultValue = "") String lastName) {
+		ResponseBodyEmitter emitter = this.executor
+			.stream(out -> this.transactionTemplate.executeWithoutResult(status -> {
+				try (Stream<OwnerSummary> summaries = this.owners.streamSummariesByLastNameStartingWith(lastName)) {
+					send(summaries.iterator(), out);
+				}
+				catch (IOException ex) {
+					throw new UncheckedIOException(ex);
+				}
+			}));
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(emitter);
+	}
+
+	private void send(Iterator<OwnerSummary> summaries, ResponseBodyEmitter emitter) throws IOException {
+		ByteArrayOutputStream fetch = new ByteArrayOutputStream();
+		int rows = 0;
+		while (summaries.hasNext()) {
+			fetch.write(this.jsonMapper.writeValueAsBytes(summaries.next()));
+			fetch.write('\n');
+			if (++rows == OwnerRepository.EXPORT_FETCH_SIZE || !summaries.hasNext()) {
+				emitter.send(fetch.toByteArray(), MediaType.APPLICATION_NDJSON);
+				fetch.reset();
+				rows = 0;
+			}
+		}
+	}
+
+}
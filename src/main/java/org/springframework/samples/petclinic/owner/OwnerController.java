@@ -16,12 +16,24 @@
 package org.springframework.samples.petclinic.owner;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
-import java.util.Optional;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.samples.petclinic.owner.LastNameTrie.Suggestion;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -32,8 +44,14 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.support.RequestContextUtils;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.jspecify.annotations.Nullable;
 
@@ -51,10 +69,32 @@ class OwnerController {
 
 	private static final String VIEWS_OWNER_CREATE_OR_UPDATE_FORM = "owners/createOrUpdateOwnerForm";
 
+	private static final int PAGE_SIZE = 5;
+
+	private static final int MAX_SUGGESTIONS = 50;
+
 	private final OwnerRepository owners;
 
-	public OwnerController(OwnerRepository owners) {
+	private final PetRepository pets;
+
+	private final VisitRepository visits;
+
+	private final LastNameSuggestions lastNameSuggestions;
+
+	private final boolean keysetPagination;
+
+	private final int visitPageSize;
+
+	public OwnerController(OwnerRepository owners, PetRepository pets, VisitRepository visits,
+			LastNameSuggestions lastNameSuggestions,
+			@Value("${petclinic.owners.keyset-pagination:false}") boolean keysetPagination,
+			@Value("${petclinic.visits.page-size:5}") int visitPageSize) {
 		this.owners = owners;
+		this.pets = pets;
+		this.visits = visits;
+		this.lastNameSuggestions = lastNameSuggestions;
+		this.keysetPagination = keysetPagination;
+		this.visitPageSize = visitPageSize;
 	}
 
 	@InitBinder
@@ -93,34 +133,115 @@ class OwnerController {
 	}
 
 	@GetMapping("/owners")
-	public String processFindForm(@RequestParam(defaultValue = "1") int page, Owner owner, BindingResult result,
-			Model model) {
+	public String processFindForm(@RequestParam(defaultValue = "1") int page,
+			@RequestParam(defaultValue = "") String cursor, Owner owner, BindingResult result, Model model) {
 		// allow parameterless GET request for /owners to return all records
 		String lastName = owner.getLastName();
 		if (lastName == null) {
 			lastName = ""; // empty string signifies broadest possible search
 		}
 
-		// find owners by last name
-		Page<Owner> ownersResults = findPaginatedForOwnersLastName(page, lastName);
+		if (this.keysetPagination) {
+			return processKeysetFindForm(cursor, lastName, result, model);
+		}
+
+		// find owners by last name, without counting them yet
+		Slice<OwnerSummary> ownersResults = findPaginatedForOwnersLastName(page, lastName);
 		if (ownersResults.isEmpty()) {
 			// no owners found
 			result.rejectValue("lastName", "notFound", "not found");
 			return "owners/findOwners";
 		}
 
-		if (ownersResults.getTotalElements() == 1) {
+		if (ownersResults.getNumberOfElements() == 1 && !ownersResults.hasPrevious() && !ownersResults.hasNext()) {
 			// 1 owner found
-			owner = ownersResults.iterator().next();
-			return "redirect:/owners/" + owner.getId();
+			return "redirect:/owners/" + ownersResults.getContent().get(0).id();
 		}
 
 		// multiple owners found
-		return addPaginationModel(page, model, ownersResults);
+		return addPaginationModel(page, model, paginate(ownersResults, lastName));
+	}
+
+	/**
+	 * Complete a slice of owners with the total number of owners found, counting them
+	 * only if more owners follow the slice.
+	 */
+	private Page<OwnerSummary> paginate(Slice<OwnerSummary> slice, String lastName) {
+		long total = slice.hasNext() ? this.owners.countByLastNameStartingWith(lastName)
+				: slice.getPageable().getOffset() + slice.getNumberOfElements();
+		return new PageImpl<>(slice.getContent(), slice.getPageable(), total);
+	}
+
+	/**
+	 * Complete the last name typed into the find form, most frequent last names first.
+	 * The suggestions are served from memory, see {@link LastNameSuggestions}.
+	 * @param prefix the start of the last name, not blank
+	 * @param limit the maximum number of suggestions
+	 * @return the matching last names with their number of owners
+	 */
+	@GetMapping(value = "/owners/lastNames", produces = MediaType.APPLICATION_JSON_VALUE)
+	@ResponseBody
+	public List<Suggestion> suggestLastNames(@RequestParam String prefix,
+			@RequestParam(defaultValue = "10") int limit) {
+		if (prefix.isBlank()) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The prefix must not be blank");
+		}
+		return this.lastNameSuggestions.suggest(prefix, Math.min(limit, MAX_SUGGESTIONS));
 	}
 
-	private String addPaginationModel(int page, Model model, Page<Owner> paginated) {
-		List<Owner> listOwners = paginated.getContent();
+	private String processKeysetFindForm(String cursor, String lastName, BindingResult result, Model model) {
+		KeysetScrollPosition position;
+		try {
+			position = OwnerCursor.decode(cursor);
+		}
+		catch (IllegalArgumentException ex) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+		}
+		Window<OwnerSummary> window = this.owners.findSummariesByLastNameStartingWith(lastName, position, PAGE_SIZE);
+
+		if (position.isInitial()) {
+			if (window.isEmpty()) {
+				// no owners found
+				result.rejectValue("lastName", "notFound", "not found");
+				return "owners/findOwners";
+			}
+			if (window.size() == 1 && !window.hasNext()) {
+				// 1 owner found
+				return "redirect:/owners/" + window.getContent().get(0).id();
+			}
+		}
+
+		// multiple owners found
+		return addKeysetModel(position, lastName, model, window);
+	}
+
+	private String addKeysetModel(KeysetScrollPosition position, String lastName, Model model,
+			Window<OwnerSummary> window) {
+		String previousCursor = null;
+		String nextCursor = null;
+		if (!window.isEmpty()) {
+			KeysetScrollPosition first = (KeysetScrollPosition) window.positionAt(0);
+			KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+			// for a backward window hasNext() reports further owners before the window
+			boolean hasPrevious = position.scrollsBackward() ? window.hasNext() : !position.isInitial();
+			boolean hasNext = position.scrollsBackward() || window.hasNext();
+			if (hasPrevious) {
+				previousCursor = OwnerCursor.encode(ScrollPosition.backward(first.getKeys()));
+			}
+			if (hasNext) {
+				nextCursor = OwnerCursor.encode(ScrollPosition.forward(last.getKeys()));
+			}
+		}
+		model.addAttribute("keyset", true);
+		model.addAttribute("lastName", lastName);
+		model.addAttribute("previousCursor", previousCursor);
+		model.addAttribute("nextCursor", nextCursor);
+		model.addAttribute("listOwners", window.getContent());
+		return "owners/ownersList";
+	}
+
+	private String addPaginationModel(int page, Model model, Page<OwnerSummary> paginated) {
+		List<OwnerSummary> listOwners = paginated.getContent();
 		model.addAttribute("currentPage", page);
 		model.addAttribute("totalPages", paginated.getTotalPages());
 		model.addAttribute("totalItems", paginated.getTotalElements());
@@ -128,10 +249,9 @@ class OwnerController {
 		return "owners/ownersList";
 	}
 
-	private Page<Owner> findPaginatedForOwnersLastName(int page, String lastname) {
-		int pageSize = 5;
-		Pageable pageable = PageRequest.of(page - 1, pageSize);
-		return owners.findByLastNameStartingWith(lastname, pageable);
+	private Slice<OwnerSummary> findPaginatedForOwnersLastName(int page, String lastname) {
+		Pageable pageable = PageRequest.of(page - 1, PAGE_SIZE);
+		return owners.findSummarySliceByLastNameStartingWith(lastname, pageable);
 	}
 
 	@GetMapping("/owners/{ownerId}/edit")
@@ -141,7 +261,7 @@ class OwnerController {
 
 	@PostMapping("/owners/{ownerId}/edit")
 	public String processUpdateOwnerForm(@Valid Owner owner, BindingResult result, @PathVariable("ownerId") int ownerId,
-			RedirectAttributes redirectAttributes) {
+			RedirectAttributes redirectAttributes, HttpServletResponse response) {
 		if (result.hasErrors()) {
 			redirectAttributes.addFlashAttribute("error", "There was an error in updating the owner.");
 			return VIEWS_OWNER_CREATE_OR_UPDATE_FORM;
@@ -154,23 +274,53 @@ class OwnerController {
 		}
 
 		owner.setId(ownerId);
-		this.owners.save(owner);
+		try {
+			this.owners.save(owner);
+		}
+		catch (OptimisticLockingFailureException ex) {
+			// the owner, its pets or visits were changed since the form was shown, show
+			// the form again with the current version so that saving it again overwrites
+			// that change deliberately
+			this.owners.findById(ownerId).map(Owner::getVersion).ifPresent(owner::setVersion);
+			result.reject("conflict", "has been changed in the meantime");
+			response.setStatus(HttpServletResponse.SC_CONFLICT);
+			return VIEWS_OWNER_CREATE_OR_UPDATE_FORM;
+		}
 		redirectAttributes.addFlashAttribute("message", "Owner Values Updated");
 		return "redirect:/owners/{ownerId}";
 	}
 
 	/**
-	 * Custom handler for displaying an owner.
+	 * Custom handler for displaying an owner. Only the latest visits of each pet are
+	 * shown, further pages are loaded on demand from {@link VisitHistoryController}.
+	 * <p>
+	 * The page is tagged with a weak ETag made of the version of the owner aggregate and
+	 * the locale, so a browser revalidating its copy gets a 304 answered from the owner
+	 * model attribute alone, without reading the pets and visits. Otherwise only the pets
+	 * and their latest visits are read, the owner is the model attribute. A page showing
+	 * a flash message is not tagged, as the message must not be shown again.
 	 * @param ownerId the ID of the owner to display
-	 * @return a ModelMap with the model attributes for the view
+	 * @param current the owner model attribute, read without its pets
+	 * @return a ModelMap with the model attributes for the view, or {@code null} if the
+	 * copy of the client is current
 	 */
 	@GetMapping("/owners/{ownerId}")
-	public ModelAndView showOwner(@PathVariable("ownerId") int ownerId) {
+	public @Nullable ModelAndView showOwner(@PathVariable("ownerId") int ownerId,
+			@ModelAttribute(name = "owner", binding = false) Owner current, HttpServletRequest request,
+			HttpServletResponse response, Locale locale) {
+		Integer version = current.getVersion();
+		if (version != null && RequestContextUtils.getInputFlashMap(request) == null) {
+			response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+			String eTag = "W/\"" + version + "-" + locale.toLanguageTag() + "\"";
+			if (new ServletWebRequest(request, response).checkNotModified(eTag)) {
+				return null;
+			}
+		}
 		ModelAndView mav = new ModelAndView("owners/ownerDetails");
-		Optional<Owner> optionalOwner = this.owners.findById(ownerId);
-		Owner owner = optionalOwner.orElseThrow(() -> new IllegalArgumentException(
-				"Owner not found with id: " + ownerId + ". Please ensure the ID is correct "));
-		mav.addObject(owner);
+		List<Pet> pets = this.pets.findByOwnerIdOrderByName(ownerId);
+		List<Integer> petIds = pets.stream().map(Pet::getId).filter(Objects::nonNull).toList();
+		mav.addObject("pets", pets);
+		mav.addObject("visits", this.visits.findFirstPageByPetIds(petIds, this.visitPageSize));
 		return mav;
 	}
 
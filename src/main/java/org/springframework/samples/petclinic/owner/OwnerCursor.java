@@ -0,0 +1,91 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+/**
+ * Encodes and decodes the opaque cursor tokens used by the keyset (seek) pagination of
+ * the owner search. A token captures the <code>(lastName, id)</code> key of the owner at
+ * the edge of the current window together with the scroll direction.
+ */
+final class OwnerCursor {
+
+	static final String LAST_NAME = "lastName";
+
+	static final String ID = "id";
+
+	private static final char FORWARD = 'f';
+
+	private static final char BACKWARD = 'b';
+
+	private OwnerCursor() {
+	}
+
+	/**
+	 * Encode the given keyset position into an opaque, URL safe token.
+	 * @param position the position to encode
+	 * @return the token
+	 */
+	static String encode(KeysetScrollPosition position) {
+		Map<String, ?> keys = position.getKeys();
+		String raw = (position.scrollsForward() ? FORWARD : BACKWARD) + ":" + keys.get(ID) + ":" + keys.get(LAST_NAME);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decode a token produced by {@link #encode(KeysetScrollPosition)}.
+	 * @param token the token, may be empty to denote the initial position
+	 * @return the decoded position
+	 * @throws IllegalArgumentException if the token is malformed
+	 */
+	static KeysetScrollPosition decode(String token) {
+		if (token.isEmpty()) {
+			return ScrollPosition.keyset();
+		}
+		String raw;
+		try {
+			raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+		}
+		catch (IllegalArgumentException ex) {
+			throw new IllegalArgumentException("Invalid owner cursor: " + token, ex);
+		}
+		String[] parts = raw.split(":", 3);
+		if (parts.length != 3 || parts[0].length() != 1) {
+			throw new IllegalArgumentException("Invalid owner cursor: " + token);
+		}
+		Map<String, Object> keys = new LinkedHashMap<>();
+		keys.put(LAST_NAME, parts[2]);
+		try {
+			keys.put(ID, Integer.valueOf(parts[1]));
+		}
+		catch (NumberFormatException ex) {
+			throw new IllegalArgumentException("Invalid owner cursor: " + token, ex);
+		}
+		return switch (parts[0].charAt(0)) {
+			case FORWARD -> ScrollPosition.forward(keys);
+			case BACKWARD -> ScrollPosition.backward(keys);
+			default -> throw new IllegalArgumentException("Invalid owner cursor: " + token);
+		};
+	}
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Streams all owners with their pets and visits as NDJSON or CSV. The response is written
+ * incrementally from a database cursor after the handler returned.
+ */
+@Controller
+class OwnerExportController {
+
+	static final String TEXT_CSV_VALUE = "text/csv";
+
+	private final OwnerExporter exporter;
+
+	OwnerExportController(OwnerExporter exporter) {
+		this.exporter = exporter;
+	}
+
+	@GetMapping(value = "/owners/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> exportNdjson() {
+		return attachment("owners.ndjson", MediaType.APPLICATION_NDJSON, this.exporter::writeNdjson);
+	}
+
+	@GetMapping(value = "/owners/export", produces = TEXT_CSV_VALUE)
+	public ResponseEntity<StreamingResponseBody> exportCsv() {
+		return attachment("owners.csv", MediaType.parseMediaType(TEXT_CSV_VALUE + ";charset=UTF-8"),
+				this.exporter::writeCsv);
+	}
+
+	private static ResponseEntity<StreamingResponseBody> attachment(String filename, MediaType contentType,
+			StreamingResponseBody body) {
+		return ResponseEntity.ok()
+			.header(HttpHeaders.CONTENT_DISPOSITION,
+					ContentDisposition.attachment().filename(filename).build().toString())
+			.contentType(contentType)
+			.body(body);
+	}
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import jakarta.persistence.EntityManager;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Writes all owners with their pets and visits to an {@link OutputStream}, one owner at a
+ * time. Owners are read from {@link OwnerRepository#streamAllWithPetsAndVisits()} and
+ * detached as soon as they have been written, so memory stays constant regardless of the
+ * number of owners.
+ */
+@Component
+class OwnerExporter {
+
+	static final String CSV_HEADER = "owner_id,first_name,last_name,address,city,telephone,"
+			+ "pet_id,pet_name,birth_date,type,visit_id,visit_date,description";
+
+	private final OwnerRepository owners;
+
+	private final EntityManager entityManager;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final JsonMapper jsonMapper;
+
+	OwnerExporter(OwnerRepository owners, EntityManager entityManager, PlatformTransactionManager transactionManager,
+			JsonMapper jsonMapper) {
+		this.owners = owners;
+		this.entityManager = entityManager;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setReadOnly(true);
+		this.jsonMapper = jsonMapper;
+	}
+
+	/**
+	 * Write one JSON document per owner, separated by new lines.
+	 * @param out the stream to write to, left open
+	 */
+	void writeNdjson(OutputStream out) {
+		export(owner -> {
+			out.write(this.jsonMapper.writeValueAsBytes(OwnerRecord.of(owner)));
+			out.write('\n');
+		});
+	}
+
+	/**
+	 * Write a CSV document with one row per visit. Pets without visits and owners without
+	 * pets get a single row with the missing columns left empty.
+	 * @param out the stream to write to, left open
+	 */
+	void writeCsv(OutputStream out) {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		try {
+			writer.write(CSV_HEADER);
+			writer.write("\r\n");
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		export(owner -> {
+			if (owner.getPets().isEmpty()) {
+				writeCsvRow(writer, owner, null, null);
+			}
+			for (Pet pet : owner.getPets()) {
+				if (pet.getVisits().isEmpty()) {
+					writeCsvRow(writer, owner, pet, null);
+				}
+				for (Visit visit : pet.getVisits()) {
+					writeCsvRow(writer, owner, pet, visit);
+				}
+			}
+		});
+		try {
+			writer.flush();
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private void export(OwnerWriter ownerWriter) {
+		this.transactionTemplate.executeWithoutResult(status -> {
+			try (Stream<Owner> stream = this.owners.streamAllWithPetsAndVisits()) {
+				stream.forEach(owner -> {
+					try {
+						ownerWriter.write(owner);
+					}
+					catch (IOException ex) {
+						throw new UncheckedIOException(ex);
+					}
+					this.entityManager.detach(owner);
+				});
+			}
+		});
+	}
+
+	private static void writeCsvRow(Writer writer, Owner owner, @Nullable Pet pet, @Nullable Visit visit)
+			throws IOException {
+		PetType type = (pet != null) ? pet.getType() : null;
+		writer.write(String.join(",", csv(owner.getId()), csv(owner.getFirstName()), csv(owner.getLastName()),
+				csv(owner.getAddress()), csv(owner.getCity()), csv(owner.getTelephone()),
+				csv((pet != null) ? pet.getId() : null), csv((pet != null) ? pet.getName() : null),
+				csv((pet != null) ? pet.getBirthDate() : null), csv((type != null) ? type.getName() : null),
+				csv((visit != null) ? visit.getId() : null), csv((visit != null) ? visit.getDate() : null),
+				csv((visit != null) ? visit.getDescription() : null)));
+		writer.write("\r\n");
+	}
+
+	private static String csv(@Nullable Object value) {
+		if (value == null) {
+			return "";
+		}
+		String text = value.toString();
+		if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+			return text;
+		}
+		return '"' + text.replace("\"", "\"\"") + '"';
+	}
+
+	@FunctionalInterface
+	private interface OwnerWriter {
+
+		void write(Owner owner) throws IOException;
+
+	}
+
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Progress of a single bulk import run by the {@link OwnerImporter}. The counters are
+ * updated after every committed batch and may be read concurrently through
+ * {@link #status()}.
+ */
+class OwnerImport {
+
+	/**
+	 * Maximum number of rejected records whose reasons are kept.
+	 */
+	static final int MAX_REJECTIONS = 100;
+
+	enum State {
+
+		RUNNING, COMPLETED, FAILED
+
+	}
+
+	private final int id;
+
+	private final Instant startedAt = Instant.now();
+
+	private volatile @Nullable Instant finishedAt;
+
+	private volatile State state = State.RUNNING;
+
+	private volatile @Nullable String failure;
+
+	private final AtomicLong recordsRead = new AtomicLong();
+
+	private final AtomicLong ownersImported = new AtomicLong();
+
+	private final AtomicLong petsImported = new AtomicLong();
+
+	private final AtomicLong visitsImported = new AtomicLong();
+
+	private final AtomicLong batches = new AtomicLong();
+
+	private final AtomicLong rejected = new AtomicLong();
+
+	private final List<Rejection> rejections = new ArrayList<>();
+
+	OwnerImport(int id) {
+		this.id = id;
+	}
+
+	int getId() {
+		return this.id;
+	}
+
+	void recordRead() {
+		this.recordsRead.incrementAndGet();
+	}
+
+	void batchWritten(int owners, int pets, int visits) {
+		this.ownersImported.addAndGet(owners);
+		this.petsImported.addAndGet(pets);
+		this.visitsImported.addAndGet(visits);
+		this.batches.incrementAndGet();
+	}
+
+	void reject(long line, String reason) {
+		this.rejected.incrementAndGet();
+		synchronized (this.rejections) {
+			if (this.rejections.size() < MAX_REJECTIONS) {
+				this.rejections.add(new Rejection(line, reason));
+			}
+		}
+	}
+
+	void complete() {
+		this.finishedAt = Instant.now();
+		this.state = State.COMPLETED;
+	}
+
+	void fail(String failure) {
+		this.failure = failure;
+		this.finishedAt = Instant.now();
+		this.state = State.FAILED;
+	}
+
+	boolean isFinished() {
+		return this.state != State.RUNNING;
+	}
+
+	/**
+	 * Return a consistent snapshot of the progress of this import.
+	 * @return the current status
+	 */
+	Status status() {
+		Instant finished = this.finishedAt;
+		Duration elapsed = Duration.between(this.startedAt, (finished != null) ? finished : Instant.now());
+		long owners = this.ownersImported.get();
+		double ownersPerSecond = (elapsed.toMillis() > 0) ? owners * 1000.0 / elapsed.toMillis() : 0;
+		List<Rejection> rejections;
+		synchronized (this.rejections) {
+			rejections = List.copyOf(this.rejections);
+		}
+		return new Status(this.id, this.state, this.startedAt, finished, this.recordsRead.get(), owners,
+				this.petsImported.get(), this.visitsImported.get(), this.batches.get(), Math.round(ownersPerSecond),
+				this.rejected.get(), rejections, this.failure);
+	}
+
+	/**
+	 * A record that was not imported.
+	 *
+	 * @param line the line the record started at
+	 * @param reason why the record was rejected
+	 */
+	record Rejection(long line, String reason) {
+
+	}
+
+	/**
+	 * Snapshot of the progress of an import.
+	 *
+	 * @param id the id of the import
+	 * @param state whether the import is still running
+	 * @param startedAt when the import started
+	 * @param finishedAt when the import finished, {@code null} while it is running
+	 * @param recordsRead the number of owner records read so far
+	 * @param ownersImported the number of owners committed so far
+	 * @param petsImported the number of pets committed so far
+	 * @param visitsImported the number of visits committed so far
+	 * @param batches the number of committed batches
+	 * @param ownersPerSecond the average import throughput
+	 * @param rejected the number of records that failed validation
+	 * @param rejections the first {@value #MAX_REJECTIONS} rejected records
+	 * @param failure the error that aborted the import, if any
+	 */
+	record Status(int id, State state, Instant startedAt, @Nullable Instant finishedAt, long recordsRead,
+			long ownersImported, long petsImported, long visitsImported, long batches, long ownersPerSecond,
+			long rejected, List<Rejection> rejections, @Nullable String failure) {
+
+	}
+
+}
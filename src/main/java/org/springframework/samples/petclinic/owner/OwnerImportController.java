@@ -0,0 +1,101 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.multipart.MultipartFile;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Accepts bulk uploads of owners with their pets and visits in the NDJSON and CSV formats
+ * of the {@link OwnerExportController}, either as the request body or as a multipart
+ * <code>file</code>. The upload is imported while it is read, other clients can follow
+ * its progress through <code>GET /owners/import</code>.
+ */
+@Controller
+class OwnerImportController {
+
+	private final OwnerImporter importer;
+
+	private final JsonMapper jsonMapper;
+
+	OwnerImportController(OwnerImporter importer, JsonMapper jsonMapper) {
+		this.importer = importer;
+		this.jsonMapper = jsonMapper;
+	}
+
+	@PostMapping(value = "/owners/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<OwnerImport.Status> importNdjson(InputStream body) {
+		return run(OwnerRecordReader.ndjson(reader(body), this.jsonMapper));
+	}
+
+	@PostMapping(value = "/owners/import", consumes = OwnerExportController.TEXT_CSV_VALUE)
+	public ResponseEntity<OwnerImport.Status> importCsv(InputStream body) {
+		return run(OwnerRecordReader.csv(reader(body)));
+	}
+
+	@PostMapping(value = "/owners/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+	public ResponseEntity<OwnerImport.Status> importFile(@RequestParam MultipartFile file) throws IOException {
+		String filename = file.getOriginalFilename();
+		boolean csv = OwnerExportController.TEXT_CSV_VALUE.equals(file.getContentType())
+				|| (filename != null && filename.endsWith(".csv"));
+		try (Reader reader = reader(file.getInputStream())) {
+			return run(csv ? OwnerRecordReader.csv(reader) : OwnerRecordReader.ndjson(reader, this.jsonMapper));
+		}
+	}
+
+	@GetMapping("/owners/import")
+	public @ResponseBody List<OwnerImport.Status> showImports() {
+		return this.importer.findAll();
+	}
+
+	@GetMapping("/owners/import/{importId}")
+	public ResponseEntity<OwnerImport.Status> showImport(@PathVariable("importId") int importId) {
+		OwnerImport ownerImport = this.importer.find(importId);
+		return (ownerImport != null) ? ResponseEntity.ok(ownerImport.status()) : ResponseEntity.notFound().build();
+	}
+
+	private ResponseEntity<OwnerImport.Status> run(OwnerRecordReader reader) {
+		OwnerImport ownerImport = this.importer.start();
+		this.importer.run(ownerImport, reader);
+		OwnerImport.Status status = ownerImport.status();
+		HttpStatus httpStatus = (status.state() == OwnerImport.State.COMPLETED) ? HttpStatus.CREATED
+				: HttpStatus.BAD_REQUEST;
+		return ResponseEntity.status(httpStatus).location(URI.create("/owners/import/" + status.id())).body(status);
+	}
+
+	private static Reader reader(InputStream body) {
+		return new InputStreamReader(body, StandardCharsets.UTF_8);
+	}
+
+}
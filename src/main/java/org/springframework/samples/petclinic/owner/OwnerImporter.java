@@ -0,0 +1,328 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.samples.petclinic.model.BaseEntity;
+import org.springframework.samples.petclinic.owner.OwnerRecord.PetRecord;
+import org.springframework.samples.petclinic.owner.OwnerRecord.VisitRecord;
+import org.springframework.samples.petclinic.owner.OwnerRecordReader.MalformedRecordException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+/**
+ * Imports owners with their pets and visits in bulk. Records are validated with the same
+ * rules as the owner, pet and visit forms and written in JDBC batches of a configurable
+ * size, each batch in its own transaction.
+ * <p>
+ * The entities keep their identity columns, so each batch reads back the generated keys
+ * of its owners and pets in the same round trip as the insert, instead of issuing one
+ * insert per row as Hibernate has to for {@code GenerationType.IDENTITY}.
+ */
+@Component
+class OwnerImporter {
+
+	private static final String INSERT_OWNER = "INSERT INTO owners (first_name, last_name, address, city, telephone) "
+			+ "VALUES (?, ?, ?, ?, ?)";
+
+	private static final String INSERT_PET = "INSERT INTO pets (name, birth_date, type_id, owner_id) "
+			+ "VALUES (?, ?, ?, ?)";
+
+	private static final String INSERT_VISIT = "INSERT INTO visits (pet_id, visit_date, description) "
+			+ "VALUES (?, ?, ?)";
+
+	private static final String[] ID_COLUMN = { "id" };
+
+	private static final int MAX_RETAINED_IMPORTS = 10;
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final PetTypeRepository types;
+
+	private final ApplicationEventPublisher events;
+
+	private final Validator validator;
+
+	private final Validator petValidator = new PetValidator();
+
+	private final int batchSize;
+
+	private final AtomicInteger importIds = new AtomicInteger();
+
+	private final Map<Integer, OwnerImport> imports = new LinkedHashMap<>() {
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, OwnerImport> eldest) {
+			return size() > MAX_RETAINED_IMPORTS && eldest.getValue().isFinished();
+		}
+
+	};
+
+	OwnerImporter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, PetTypeRepository types,
+			ApplicationEventPublisher events, jakarta.validation.Validator validator,
+			@Value("${petclinic.import.batch-size:500}") int batchSize) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.types = types;
+		this.events = events;
+		this.validator = new SpringValidatorAdapter(validator);
+		this.batchSize = batchSize;
+	}
+
+	int getBatchSize() {
+		return this.batchSize;
+	}
+
+	/**
+	 * Register a new import whose progress can be followed through {@link #find(int)}.
+	 * @return the new import
+	 */
+	OwnerImport start() {
+		OwnerImport ownerImport = new OwnerImport(this.importIds.incrementAndGet());
+		synchronized (this.imports) {
+			this.imports.put(ownerImport.getId(), ownerImport);
+		}
+		return ownerImport;
+	}
+
+	@Nullable OwnerImport find(int importId) {
+		synchronized (this.imports) {
+			return this.imports.get(importId);
+		}
+	}
+
+	List<OwnerImport.Status> findAll() {
+		synchronized (this.imports) {
+			return this.imports.values().stream().map(OwnerImport::status).toList();
+		}
+	}
+
+	/**
+	 * Read all records from the given reader and import the valid ones. Batches that have
+	 * been committed stay imported if a later batch fails. The import is finished when
+	 * this method returns, also if it throws an unexpected exception.
+	 * @param ownerImport the import to report progress to
+	 * @param reader the records to import
+	 */
+	void run(OwnerImport ownerImport, OwnerRecordReader reader) {
+		Map<String, PetType> typesByName = new HashMap<>();
+		for (PetType type : this.types.findPetTypes()) {
+			String name = type.getName();
+			if (name != null) {
+				typesByName.put(name.toLowerCase(Locale.ROOT), type);
+			}
+		}
+		List<Owner> batch = new ArrayList<>(this.batchSize);
+		try {
+			OwnerRecord record;
+			while ((record = reader.next()) != null) {
+				ownerImport.recordRead();
+				Owner owner = toOwner(record, typesByName);
+				String rejection = validate(owner);
+				if (rejection != null) {
+					ownerImport.reject(reader.line(), rejection);
+					continue;
+				}
+				batch.add(owner);
+				if (batch.size() == this.batchSize) {
+					write(batch, ownerImport);
+					batch.clear();
+				}
+			}
+			if (!batch.isEmpty()) {
+				write(batch, ownerImport);
+			}
+			ownerImport.complete();
+		}
+		catch (MalformedRecordException | DataAccessException ex) {
+			ownerImport.fail(String.valueOf(ex.getMessage()));
+		}
+		catch (RuntimeException ex) {
+			// never leave the import running, whatever went wrong
+			ownerImport.fail(ex.toString());
+			throw ex;
+		}
+	}
+
+	private static Owner toOwner(OwnerRecord record, Map<String, PetType> typesByName) {
+		Owner owner = new Owner();
+		owner.setFirstName(record.firstName());
+		owner.setLastName(record.lastName());
+		owner.setAddress(record.address());
+		owner.setCity(record.city());
+		owner.setTelephone(record.telephone());
+		for (PetRecord petRecord : record.pets()) {
+			Pet pet = new Pet();
+			pet.setName(petRecord.name());
+			pet.setBirthDate(petRecord.birthDate());
+			String type = petRecord.type();
+			pet.setType((type != null) ? typesByName.get(type.toLowerCase(Locale.ROOT)) : null);
+			for (VisitRecord visitRecord : petRecord.visits()) {
+				Visit visit = new Visit();
+				visit.setDate(visitRecord.date());
+				visit.setDescription(visitRecord.description());
+				pet.addVisit(visit);
+			}
+			owner.addPet(pet);
+		}
+		return owner;
+	}
+
+	private @Nullable String validate(Owner owner) {
+		List<String> reasons = new ArrayList<>();
+		validate(this.validator, owner, "", reasons);
+		List<Pet> pets = owner.getPets();
+		for (int i = 0; i < pets.size(); i++) {
+			Pet pet = pets.get(i);
+			validate(this.petValidator, pet, "pets[" + i + "].", reasons);
+			// the first pet of a name takes it, as the database allows a name once per
+			// owner
+			String name = pet.getName();
+			if (name != null && owner.getPet(name) != pet) {
+				reasons.add("pets[" + i + "].name: already exists");
+			}
+			int j = 0;
+			for (Visit visit : pet.getVisits()) {
+				validate(this.validator, visit, "pets[" + i + "].visits[" + j++ + "].", reasons);
+			}
+		}
+		return reasons.isEmpty() ? null : String.join(", ", reasons);
+	}
+
+	private static void validate(Validator validator, Object target, String path, List<String> reasons) {
+		BindingResult errors = new BeanPropertyBindingResult(target, "target");
+		validator.validate(target, errors);
+		for (FieldError error : errors.getFieldErrors()) {
+			reasons.add(path + error.getField() + ": " + error.getDefaultMessage());
+		}
+	}
+
+	private void write(List<Owner> owners, OwnerImport ownerImport) {
+		List<Pet> pets = new ArrayList<>();
+		List<Integer> petOwnerIds = new ArrayList<>();
+		List<Visit> visits = new ArrayList<>();
+		List<Integer> visitPetIds = new ArrayList<>();
+		this.transactionTemplate.executeWithoutResult(status -> {
+			insert(INSERT_OWNER, owners, (ps, i) -> {
+				Owner owner = owners.get(i);
+				ps.setString(1, owner.getFirstName());
+				ps.setString(2, owner.getLastName());
+				ps.setString(3, owner.getAddress());
+				ps.setString(4, owner.getCity());
+				ps.setString(5, owner.getTelephone());
+			});
+			for (Owner owner : owners) {
+				for (Pet pet : owner.getPets()) {
+					pets.add(pet);
+					petOwnerIds.add(owner.getId());
+				}
+			}
+			insert(INSERT_PET, pets, (ps, i) -> {
+				Pet pet = pets.get(i);
+				PetType type = pet.getType();
+				ps.setString(1, pet.getName());
+				ps.setObject(2, pet.getBirthDate(), Types.DATE);
+				ps.setObject(3, (type != null) ? type.getId() : null, Types.INTEGER);
+				ps.setInt(4, petOwnerIds.get(i));
+			});
+			for (Pet pet : pets) {
+				for (Visit visit : pet.getVisits()) {
+					visits.add(visit);
+					visitPetIds.add(pet.getId());
+				}
+			}
+			this.jdbcTemplate.batchUpdate(INSERT_VISIT, new IndexedSetter<>(visits, (ps, i) -> {
+				Visit visit = visits.get(i);
+				ps.setInt(1, visitPetIds.get(i));
+				ps.setObject(2, visit.getDate(), Types.DATE);
+				ps.setString(3, visit.getDescription());
+			}));
+			List<Integer> ownerIds = new ArrayList<>(owners.size());
+			for (Owner owner : owners) {
+				ownerIds.add(Objects.requireNonNull(owner.getId()));
+			}
+			this.events.publishEvent(new OwnersChanged(ownerIds));
+		});
+		ownerImport.batchWritten(owners.size(), pets.size(), visits.size());
+	}
+
+	/**
+	 * Insert the given entities in a single JDBC batch and assign the generated ids.
+	 */
+	private void insert(String sql, List<? extends BaseEntity> entities, IndexedStatementSetter setter) {
+		if (entities.isEmpty()) {
+			return;
+		}
+		KeyHolder keys = new GeneratedKeyHolder();
+		this.jdbcTemplate.batchUpdate(con -> con.prepareStatement(sql, ID_COLUMN),
+				new IndexedSetter<>(entities, setter), keys);
+		List<Map<String, Object>> keyList = keys.getKeyList();
+		for (int i = 0; i < entities.size(); i++) {
+			Object key = keyList.get(i).values().iterator().next();
+			entities.get(i).setId(((Number) key).intValue());
+		}
+	}
+
+	private record IndexedSetter<T>(List<T> items,
+			IndexedStatementSetter setter) implements BatchPreparedStatementSetter {
+
+		@Override
+		public void setValues(PreparedStatement ps, int i) throws SQLException {
+			this.setter.setValues(ps, i);
+		}
+
+		@Override
+		public int getBatchSize() {
+			return this.items.size();
+		}
+
+	}
+
+	@FunctionalInterface
+	private interface IndexedStatementSetter {
+
+		void setValues(PreparedStatement ps, int i) throws SQLException;
+
+	}
+
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Base class of the in-memory indexes over the owners, {@link OwnerSearch} and
+ * {@link LastNameSuggestions}. An index is built from the database once the application
+ * is ready and updated with the owners of every {@link OwnersChanged} event that commits.
+ * <p>
+ * The index reads the owners on a single thread of its own, in the order the changes
+ * committed. The thread that committed a change does not acquire a second connection
+ * while its own is still held, and an update never overwrites a later one. The index is
+ * only modified under the write lock, see {@link #read(Supplier)}.
+ *
+ * @param <T> the type of the rows the index is built from
+ */
+abstract class OwnerIndex<T> implements DisposableBean {
+
+	private static final Log logger = LogFactory.getLog(OwnerIndex.class);
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final ExecutorService updates;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private volatile boolean ready;
+
+	OwnerIndex(PlatformTransactionManager transactionManager, String threadNamePrefix) {
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setReadOnly(true);
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+		threadFactory.setDaemon(true);
+		this.updates = Executors.newSingleThreadExecutor(threadFactory);
+	}
+
+	boolean isReady() {
+		return this.ready;
+	}
+
+	/**
+	 * Build the index from all owners in the database and wait until it is built.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	void build() {
+		await(this.updates.submit(() -> {
+			List<T> all = find(this::findAll);
+			write(() -> rebuild(all));
+			this.ready = true;
+		}));
+	}
+
+	/**
+	 * Update the index with the owners that changed, once their changes are committed.
+	 * @param event the owners that changed
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	void ownersChanged(OwnersChanged event) {
+		Collection<Integer> ids = event.ownerIds();
+		this.updates.execute(() -> {
+			try {
+				List<T> changed = find(() -> findByIds(ids));
+				write(() -> update(ids, changed));
+			}
+			catch (RuntimeException ex) {
+				logger.warn("Failed to update " + getClass().getSimpleName() + " with owners " + ids, ex);
+			}
+		});
+	}
+
+	/**
+	 * Wait until the changes committed so far are applied to the index.
+	 */
+	void awaitUpdates() {
+		await(this.updates.submit(() -> {
+		}));
+	}
+
+	/**
+	 * Read the index under the read lock.
+	 * @param action reads the index
+	 * @return the result of the action
+	 */
+	<R> R read(Supplier<R> action) {
+		this.lock.readLock().lock();
+		try {
+			return action.get();
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Read all owners to build the index from, inside a read-only transaction.
+	 * @return the rows of all owners
+	 */
+	abstract List<T> findAll();
+
+	/**
+	 * Read the given owners, inside a read-only transaction.
+	 * @param ids the ids of the owners that changed
+	 * @return the rows of those owners that still exist
+	 */
+	abstract List<T> findByIds(Collection<Integer> ids);
+
+	/**
+	 * Replace the content of the index, under the write lock.
+	 * @param all the rows of all owners
+	 */
+	abstract void rebuild(List<T> all);
+
+	/**
+	 * Replace the given owners in the index, under the write lock.
+	 * @param ids the ids of the owners that changed
+	 * @param changed the rows of those owners that still exist
+	 */
+	abstract void update(Collection<Integer> ids, List<T> changed);
+
+	@Override
+	public void destroy() {
+		this.updates.shutdownNow();
+	}
+
+	private List<T> find(Supplier<List<T>> query) {
+		return Objects.requireNonNull(this.transactionTemplate.execute(status -> query.get()));
+	}
+
+	private void write(Runnable action) {
+		this.lock.writeLock().lock();
+		try {
+			action.run();
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	private static void await(Future<?> future) {
+		try {
+			future.get();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw new IllegalStateException(ex.getCause());
+		}
+	}
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Flat representation of an {@link Owner} with its {@link Pet}s and {@link Visit}s as
+ * written by the {@link OwnerExporter} and read back by the {@link OwnerImporter}.
+ *
+ * @param id the owner id, ignored on import
+ * @param firstName the owner's first name
+ * @param lastName the owner's last name
+ * @param address the owner's address
+ * @param city the owner's city
+ * @param telephone the owner's telephone
+ * @param pets the owner's pets, empty if the record has none
+ */
+record OwnerRecord(@Nullable Integer id, @Nullable String firstName, @Nullable String lastName,
+		@Nullable String address, @Nullable String city, @Nullable String telephone, List<PetRecord> pets) {
+
+	OwnerRecord {
+		pets = Objects.requireNonNullElse(pets, List.of());
+	}
+
+	static OwnerRecord of(Owner owner) {
+		return new OwnerRecord(owner.getId(), owner.getFirstName(), owner.getLastName(), owner.getAddress(),
+				owner.getCity(), owner.getTelephone(), owner.getPets().stream().map(PetRecord::of).toList());
+	}
+
+	/**
+	 * Flat representation of a {@link Pet}.
+	 *
+	 * @param id the pet id, ignored on import
+	 * @param name the pet's name
+	 * @param birthDate the pet's birth date
+	 * @param type the name of the pet's type
+	 * @param visits the pet's visits, empty if the record has none
+	 */
+	record PetRecord(@Nullable Integer id, @Nullable String name, @Nullable LocalDate birthDate, @Nullable String type,
+			List<VisitRecord> visits) {
+
+		PetRecord {
+			visits = Objects.requireNonNullElse(visits, List.of());
+		}
+
+		static PetRecord of(Pet pet) {
+			PetType type = pet.getType();
+			return new PetRecord(pet.getId(), pet.getName(), pet.getBirthDate(), (type != null) ? type.getName() : null,
+					pet.getVisits().stream().map(VisitRecord::of).toList());
+		}
+
+	}
+
+	/**
+	 * Flat representation of a {@link Visit}.
+	 *
+	 * @param id the visit id, ignored on import
+	 * @param date the date of the visit
+	 * @param description the description of the visit
+	 */
+	record VisitRecord(@Nullable Integer id, @Nullable LocalDate date, @Nullable String description) {
+
+		static VisitRecord of(Visit visit) {
+			return new VisitRecord(visit.getId(), visit.getDate(), visit.getDescription());
+		}
+
+	}
+
+}
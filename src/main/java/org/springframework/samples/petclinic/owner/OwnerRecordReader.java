@@ -0,0 +1,287 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.samples.petclinic.owner.OwnerRecord.PetRecord;
+import org.springframework.samples.petclinic.owner.OwnerRecord.VisitRecord;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Reads {@link OwnerRecord}s one at a time from the NDJSON or CSV documents written by
+ * the {@link OwnerExporter}. CSV rows are grouped into owners and pets by their
+ * consecutive <code>owner_id</code> and <code>pet_id</code> columns.
+ */
+abstract class OwnerRecordReader {
+
+	/**
+	 * Thrown when the input cannot be parsed at all, as opposed to records that parse but
+	 * do not validate.
+	 */
+	static class MalformedRecordException extends RuntimeException {
+
+		MalformedRecordException(long line, String message, @Nullable Throwable cause) {
+			super("Line " + line + ": " + message, cause);
+		}
+
+	}
+
+	/**
+	 * Read the next record.
+	 * @return the next record, or {@code null} at the end of the input
+	 * @throws MalformedRecordException if the input cannot be parsed
+	 */
+	abstract @Nullable OwnerRecord next();
+
+	/**
+	 * Return the line the last record returned by {@link #next()} started at.
+	 * @return the 1-based line number
+	 */
+	abstract long line();
+
+	static OwnerRecordReader ndjson(Reader reader, JsonMapper jsonMapper) {
+		return new NdjsonReader(new BufferedReader(reader), jsonMapper);
+	}
+
+	static OwnerRecordReader csv(Reader reader) {
+		return new CsvReader(new BufferedReader(reader));
+	}
+
+	private static final class NdjsonReader extends OwnerRecordReader {
+
+		private final BufferedReader reader;
+
+		private final JsonMapper jsonMapper;
+
+		private long line;
+
+		NdjsonReader(BufferedReader reader, JsonMapper jsonMapper) {
+			this.reader = reader;
+			this.jsonMapper = jsonMapper;
+		}
+
+		@Override
+		@Nullable OwnerRecord next() {
+			try {
+				String text;
+				do {
+					text = this.reader.readLine();
+					this.line++;
+				}
+				while (text != null && text.isBlank());
+				return (text != null) ? this.jsonMapper.readValue(text, OwnerRecord.class) : null;
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+			catch (JacksonException ex) {
+				throw new MalformedRecordException(this.line, ex.getOriginalMessage(), ex);
+			}
+		}
+
+		@Override
+		long line() {
+			return this.line;
+		}
+
+	}
+
+	private static final class CsvReader extends OwnerRecordReader {
+
+		private static final int COLUMNS = OwnerExporter.CSV_HEADER.split(",").length;
+
+		private final BufferedReader reader;
+
+		private long line;
+
+		private long recordLine;
+
+		private @Nullable Row pending;
+
+		CsvReader(BufferedReader reader) {
+			this.reader = reader;
+		}
+
+		@Override
+		@Nullable OwnerRecord next() {
+			if (this.line == 0) {
+				Row header = readRow();
+				if (header == null || !String.join(",", header.fields()).equals(OwnerExporter.CSV_HEADER)) {
+					throw new MalformedRecordException(1, "Expected header " + OwnerExporter.CSV_HEADER, null);
+				}
+			}
+			Row first = (this.pending != null) ? this.pending : readRow();
+			if (first == null) {
+				return null;
+			}
+			this.recordLine = first.line();
+			// consecutive rows with the same owner_id (and pet_id) belong to the same
+			// owner (and pet), rows without ids stand on their own
+			String ownerId = first.get(0);
+			List<PetRecord> pets = new ArrayList<>();
+			Row petRow = null;
+			List<VisitRecord> visits = new ArrayList<>();
+			Row row = first;
+			Row next;
+			while (true) {
+				if (row.hasPet()) {
+					if (petRow == null || row.get(6).isEmpty() || !row.get(6).equals(petRow.get(6))) {
+						if (petRow != null) {
+							pets.add(petRow.pet(visits));
+						}
+						petRow = row;
+						visits = new ArrayList<>();
+					}
+					if (row.hasVisit()) {
+						visits.add(row.visit());
+					}
+				}
+				next = ownerId.isEmpty() ? null : readRow();
+				if (next == null || !next.get(0).equals(ownerId)) {
+					break;
+				}
+				row = next;
+			}
+			this.pending = next;
+			if (petRow != null) {
+				pets.add(petRow.pet(visits));
+			}
+			return new OwnerRecord(null, text(first.get(1)), text(first.get(2)), text(first.get(3)), text(first.get(4)),
+					text(first.get(5)), pets);
+		}
+
+		@Override
+		long line() {
+			return this.recordLine;
+		}
+
+		private static @Nullable String text(String value) {
+			return value.isEmpty() ? null : value;
+		}
+
+		/**
+		 * Read the fields of the next row, honouring quoted fields that contain commas,
+		 * quotes or line breaks.
+		 */
+		private @Nullable Row readRow() {
+			try {
+				String text = this.reader.readLine();
+				if (text == null) {
+					return null;
+				}
+				this.line++;
+				long start = this.line;
+				List<String> fields = new ArrayList<>(COLUMNS);
+				StringBuilder field = new StringBuilder();
+				boolean quoted = false;
+				int i = 0;
+				while (true) {
+					if (i == text.length()) {
+						if (!quoted) {
+							break;
+						}
+						String continuation = this.reader.readLine();
+						if (continuation == null) {
+							throw new MalformedRecordException(start, "Unterminated quoted field", null);
+						}
+						this.line++;
+						field.append('\n');
+						text = continuation;
+						i = 0;
+						continue;
+					}
+					char c = text.charAt(i++);
+					if (quoted) {
+						if (c != '"') {
+							field.append(c);
+						}
+						else if (i < text.length() && text.charAt(i) == '"') {
+							field.append('"');
+							i++;
+						}
+						else {
+							quoted = false;
+						}
+					}
+					else if (c == '"') {
+						quoted = true;
+					}
+					else if (c == ',') {
+						fields.add(field.toString());
+						field.setLength(0);
+					}
+					else {
+						field.append(c);
+					}
+				}
+				fields.add(field.toString());
+				if (fields.size() != COLUMNS) {
+					throw new MalformedRecordException(start,
+							"Expected " + COLUMNS + " columns but found " + fields.size(), null);
+				}
+				return new Row(start, fields);
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		}
+
+		private record Row(long line, List<String> fields) {
+
+			String get(int column) {
+				return this.fields.get(column);
+			}
+
+			boolean hasPet() {
+				return !get(6).isEmpty() || !get(7).isEmpty();
+			}
+
+			boolean hasVisit() {
+				return !get(10).isEmpty() || !get(11).isEmpty() || !get(12).isEmpty();
+			}
+
+			PetRecord pet(List<VisitRecord> visits) {
+				return new PetRecord(null, text(get(7)), date(get(8)), text(get(9)), visits);
+			}
+
+			VisitRecord visit() {
+				return new VisitRecord(null, date(get(11)), text(get(12)));
+			}
+
+			private @Nullable LocalDate date(String value) {
+				try {
+					return value.isEmpty() ? null : LocalDate.parse(value);
+				}
+				catch (DateTimeParseException ex) {
+					throw new MalformedRecordException(this.line, "Invalid date '" + value + "'", ex);
+				}
+			}
+
+		}
+
+	}
+
+}
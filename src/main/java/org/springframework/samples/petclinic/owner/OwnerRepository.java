@@ -15,12 +15,30 @@
  */
 package org.springframework.samples.petclinic.owner;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import jakarta.annotation.Nonnull;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Repository class for <code>Owner</code> domain objects. All method names are compliant
@@ -36,15 +54,205 @@ import org.springframework.data.jpa.repository.JpaRepository;
  */
 public interface OwnerRepository extends JpaRepository<Owner, Integer> {
 
+	/**
+	 * Number of rows fetched per round trip by {@link #streamAllWithPetsAndVisits()} and
+	 * {@link #streamSummariesByLastNameStartingWith(String)}.
+	 */
+	int EXPORT_FETCH_SIZE = 100;
+
+	/**
+	 * Case-insensitive prefix match of the owner's last name against the
+	 * <code>lastName</code> parameter. The <code>%</code> and <code>_</code> wildcards and
+	 * the <code>\</code> escape character are escaped in the parameter, so they only
+	 * match themselves.
+	 */
+	String LAST_NAME_STARTS_WITH = "ignore_case(o.lastName) LIKE concat(ignore_case(:#{escape(#lastName)}), '%')"
+			+ " ESCAPE '\\'";
+
 	/**
 	 * Retrieve {@link Owner}s from the data store by last name, returning all owners
-	 * whose last name <i>starts</i> with the given name.
+	 * whose last name <i>starts</i> with the given name, ignoring case.
+	 * <p>
+	 * The last name is compared through the <code>ignore_case</code> function, see
+	 * {@link org.springframework.samples.petclinic.model.IgnoreCaseFunctionContributor},
+	 * so that the prefix search is served by the last name index of every database.
 	 * @param lastName Value to search for
 	 * @return a Collection of matching {@link Owner}s (or an empty Collection if none
 	 * found)
 	 */
+	@Query(value = "SELECT o FROM Owner o WHERE " + LAST_NAME_STARTS_WITH,
+			countQuery = "SELECT count(o) FROM Owner o WHERE " + LAST_NAME_STARTS_WITH)
 	Page<Owner> findByLastNameStartingWith(String lastName, Pageable pageable);
 
+	/**
+	 * Retrieve {@link OwnerSummary} projections of all owners whose last name
+	 * <i>starts</i> with the given name, ignoring case. Owner columns and the aggregated
+	 * pet names are read in a single statement, without hydrating {@link Owner} or
+	 * {@link Pet} entities.
+	 * @param lastName Value to search for
+	 * @param pageable the page to retrieve
+	 * @return a {@link Page} of matching {@link OwnerSummary} projections
+	 */
+	@Query(value = """
+			SELECT new org.springframework.samples.petclinic.owner.OwnerSummary(o.id, o.firstName, o.lastName,
+				o.address, o.city, o.telephone, listagg(p.name, ', ') WITHIN GROUP (ORDER BY p.name))
+			FROM Owner o LEFT JOIN o.pets p
+			WHERE\s""" + LAST_NAME_STARTS_WITH + """
+			GROUP BY o.id, o.firstName, o.lastName, o.address, o.city, o.telephone
+			ORDER BY ignore_case(o.lastName), o.id
+			""", countQuery = "SELECT count(o) FROM Owner o WHERE " + LAST_NAME_STARTS_WITH)
+	Page<OwnerSummary> findSummariesByLastNameStartingWith(String lastName, Pageable pageable);
+
+	/**
+	 * Retrieve a {@link Slice} of {@link OwnerSummary} projections of all owners whose
+	 * last name <i>starts</i> with the given name, ignoring case. One row more than the
+	 * page size is read to tell whether further owners follow, instead of issuing a count
+	 * query, see {@link #countByLastNameStartingWith(String)}.
+	 * @param lastName Value to search for
+	 * @param pageable the page to retrieve
+	 * @return a {@link Slice} of matching {@link OwnerSummary} projections
+	 */
+	@Query("""
+			SELECT new org.springframework.samples.petclinic.owner.OwnerSummary(o.id, o.firstName, o.lastName,
+				o.address, o.city, o.telephone, listagg(p.name, ', ') WITHIN GROUP (ORDER BY p.name))
+			FROM Owner o LEFT JOIN o.pets p
+			WHERE\s""" + LAST_NAME_STARTS_WITH + """
+			GROUP BY o.id, o.firstName, o.lastName, o.address, o.city, o.telephone
+			ORDER BY ignore_case(o.lastName), o.id
+			""")
+	Slice<OwnerSummary> findSummarySliceByLastNameStartingWith(String lastName, Pageable pageable);
+
+	/**
+	 * Stream {@link OwnerSummary} projections of all owners whose last name <i>starts</i>
+	 * with the given name, ignoring case, ordered by last name and id, as served by the
+	 * {@link OwnerApiController}. Like {@link #streamAllWithPetsAndVisits()} the rows are
+	 * read through a cursor with a fixed fetch size, so the caller must consume the
+	 * stream inside a transaction and close it afterwards.
+	 * @param lastName Value to search for
+	 * @return a {@link Stream} of matching {@link OwnerSummary} projections
+	 */
+	@Query("""
+			SELECT new org.springframework.samples.petclinic.owner.OwnerSummary(o.id, o.firstName, o.lastName,
+				o.address, o.city, o.telephone, listagg(p.name, ', ') WITHIN GROUP (ORDER BY p.name))
+			FROM Owner o LEFT JOIN o.pets p
+			WHERE\s""" + LAST_NAME_STARTS_WITH + """
+			GROUP BY o.id, o.firstName, o.lastName, o.address, o.city, o.telephone
+			ORDER BY ignore_case(o.lastName), o.id
+			""")
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	Stream<OwnerSummary> streamSummariesByLastNameStartingWith(String lastName);
+
+	/**
+	 * Count the owners whose last name <i>starts</i> with the given name, ignoring case.
+	 * @param lastName Value to search for
+	 * @return the number of matching owners
+	 */
+	@Query("SELECT count(o) FROM Owner o WHERE " + LAST_NAME_STARTS_WITH)
+	long countByLastNameStartingWith(String lastName);
+
+	/**
+	 * Retrieve a {@link Window} of {@link OwnerSummary} projections of the owners whose
+	 * last name <i>starts</i> with the given name, ordered by last name and id. Unlike
+	 * the {@link Pageable} variant this seeks past the <code>(lastName, id)</code> keys
+	 * of the given position instead of using an offset, and does not issue a count query.
+	 * @param lastName Value to search for
+	 * @param position the keyset position to continue from
+	 * @param limit the maximum number of owners in the window
+	 * @return a {@link Window} of matching {@link OwnerSummary} projections
+	 */
+	default Window<OwnerSummary> findSummariesByLastNameStartingWith(String lastName, KeysetScrollPosition position,
+			int limit) {
+		Map<String, ?> keys = position.getKeys();
+		String keyLastName = (keys.get("lastName") instanceof String name) ? name : "";
+		int keyId = (keys.get("id") instanceof Number id) ? id.intValue() : 0;
+		List<OwnerSummary> content;
+		if (position.scrollsBackward()) {
+			content = new ArrayList<>(findSummariesBefore(lastName, keyLastName, keyId, Limit.of(limit + 1)));
+		}
+		else {
+			content = new ArrayList<>(findSummariesAfter(lastName, keyLastName, keyId, Limit.of(limit + 1)));
+		}
+		boolean hasNext = content.size() > limit;
+		if (hasNext) {
+			content.remove(limit);
+		}
+		if (position.scrollsBackward()) {
+			Collections.reverse(content);
+		}
+		return Window.from(content,
+				index -> ScrollPosition
+					.forward(Map.of("lastName", content.get(index).lastName(), "id", content.get(index).id())),
+				hasNext);
+	}
+
+	@Query("""
+			SELECT new org.springframework.samples.petclinic.owner.OwnerSummary(o.id, o.firstName, o.lastName,
+				o.address, o.city, o.telephone, listagg(p.name, ', ') WITHIN GROUP (ORDER BY p.name))
+			FROM Owner o LEFT JOIN o.pets p
+			WHERE\s""" + LAST_NAME_STARTS_WITH + """
+				AND (ignore_case(o.lastName) > ignore_case(:keyLastName)
+					OR (ignore_case(o.lastName) = ignore_case(:keyLastName) AND o.id > :keyId))
+			GROUP BY o.id, o.firstName, o.lastName, o.address, o.city, o.telephone
+			ORDER BY ignore_case(o.lastName), o.id
+			""")
+	List<OwnerSummary> findSummariesAfter(String lastName, String keyLastName, int keyId, Limit limit);
+
+	@Query("""
+			SELECT new org.springframework.samples.petclinic.owner.OwnerSummary(o.id, o.firstName, o.lastName,
+				o.address, o.city, o.telephone, listagg(p.name, ', ') WITHIN GROUP (ORDER BY p.name))
+			FROM Owner o LEFT JOIN o.pets p
+			WHERE\s""" + LAST_NAME_STARTS_WITH + """
+				AND (ignore_case(o.lastName) < ignore_case(:keyLastName)
+					OR (ignore_case(o.lastName) = ignore_case(:keyLastName) AND o.id < :keyId))
+			GROUP BY o.id, o.firstName, o.lastName, o.address, o.city, o.telephone
+			ORDER BY ignore_case(o.lastName) DESC, o.id DESC
+			""")
+	List<OwnerSummary> findSummariesBefore(String lastName, String keyLastName, int keyId, Limit limit);
+
+	/**
+	 * Retrieve {@link OwnerSummary} projections of all owners, ordered by id, as indexed
+	 * by {@link OwnerSearch}.
+	 * @return all {@link OwnerSummary} projections
+	 */
+	@Query("""
+			SELECT new org.springframework.samples.petclinic.owner.OwnerSummary(o.id, o.firstName, o.lastName,
+				o.address, o.city, o.telephone, listagg(p.name, ', ') WITHIN GROUP (ORDER BY p.name))
+			FROM Owner o LEFT JOIN o.pets p
+			GROUP BY o.id, o.firstName, o.lastName, o.address, o.city, o.telephone
+			ORDER BY o.id
+			""")
+	List<OwnerSummary> findAllSummaries();
+
+	/**
+	 * Retrieve {@link OwnerSummary} projections of the owners with the given ids, ordered
+	 * by id.
+	 * @param ids the ids of the owners
+	 * @return the {@link OwnerSummary} projections of the owners found
+	 */
+	@Query("""
+			SELECT new org.springframework.samples.petclinic.owner.OwnerSummary(o.id, o.firstName, o.lastName,
+				o.address, o.city, o.telephone, listagg(p.name, ', ') WITHIN GROUP (ORDER BY p.name))
+			FROM Owner o LEFT JOIN o.pets p
+			WHERE o.id IN :ids
+			GROUP BY o.id, o.firstName, o.lastName, o.address, o.city, o.telephone
+			ORDER BY o.id
+			""")
+	List<OwnerSummary> findSummariesByIdIn(Collection<Integer> ids);
+
+	/**
+	 * Retrieve the last names of all owners, as counted by {@link LastNameSuggestions}.
+	 * @return the {@link OwnerLastName} projections of all owners
+	 */
+	List<OwnerLastName> findLastNamesBy();
+
+	/**
+	 * Retrieve the last names of the owners with the given ids.
+	 * @param ids the ids of the owners
+	 * @return the {@link OwnerLastName} projections of the owners found
+	 */
+	List<OwnerLastName> findLastNamesByIdIn(Collection<Integer> ids);
+
 	/**
 	 * Retrieve an {@link Owner} from the data store by id.
 	 * <p>
@@ -60,4 +268,44 @@ public interface OwnerRepository extends JpaRepository<Owner, Integer> {
 	 */
 	Optional<Owner> findById(Integer id);
 
+	/**
+	 * Retrieve an {@link Owner} together with its {@link Pet}s, their types and their
+	 * {@link Visit}s in a single statement, as needed by the owner details page.
+	 * @param id the id to search for
+	 * @return an {@link Optional} containing the {@link Owner} if found, or an empty
+	 * {@link Optional} if not found.
+	 */
+	@EntityGraph(attributePaths = { "pets", "pets.type", "pets.visits" })
+	Optional<Owner> findWithPetsAndVisitsById(Integer id);
+
+	/**
+	 * Increment the version of an {@link Owner} without reading it, after one of its
+	 * {@link Pet}s was saved or a {@link Visit} was booked, so that the version of the
+	 * owner changes with anything shown on the owner details page. To be called in the
+	 * transaction that made the change.
+	 * @param id the id of the owner
+	 */
+	@Transactional
+	@Modifying
+	@Query("UPDATE Owner o SET o.version = o.version + 1 WHERE o.id = :id")
+	void incrementVersion(Integer id);
+
+	/**
+	 * Stream all {@link Owner}s ordered by id, each together with its {@link Pet}s, their
+	 * types and their {@link Visit}s. The rows are read through a forward-only cursor
+	 * with a fixed fetch size, so the caller must consume the stream inside a
+	 * transaction, close it afterwards and detach the owners it has processed to keep
+	 * memory constant. MySQL only honours the fetch size with
+	 * <code>useCursorFetch</code>, which the <code>mysql</code> profile sets.
+	 * @return a {@link Stream} of fully initialized {@link Owner}s
+	 */
+	@Query("""
+			SELECT o FROM Owner o
+			LEFT JOIN FETCH o.pets p LEFT JOIN FETCH p.type LEFT JOIN FETCH p.visits
+			ORDER BY o.id
+			""")
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	Stream<Owner> streamAllWithPetsAndVisits();
+
 }
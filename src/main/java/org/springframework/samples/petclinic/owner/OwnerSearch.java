@@ -0,0 +1,225 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * In-memory trigram index over the names, cities and telephones of the owners and the
+ * names of their pets. Every word is indexed by its trigrams, padded at the start so that
+ * prefixes match, and a query word matches an owner when at least half of its trigrams
+ * do, which tolerates typos. Words made of digits match anywhere within a word, so that
+ * telephones can be searched by any part.
+ * <p>
+ * The index is built from the database once the application is ready and an owner is
+ * reindexed whenever an {@link OwnersChanged} event commits, see {@link OwnerIndex}.
+ * Until the index is built, searches fall back to the last name prefix query of the
+ * {@link OwnerRepository}.
+ */
+@Component
+class OwnerSearch extends OwnerIndex<OwnerSummary> {
+
+	private static final int GRAM_LENGTH = 3;
+
+	private static final String PADDING = "  ";
+
+	private static final double MIN_SIMILARITY = 0.5;
+
+	private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+	private static final Comparator<Match> BY_RELEVANCE = Comparator.comparingDouble(Match::score)
+		.reversed()
+		.thenComparing(match -> String.valueOf(match.owner().lastName()))
+		.thenComparing(match -> String.valueOf(match.owner().firstName()))
+		.thenComparing(match -> match.owner().id());
+
+	private final OwnerRepository owners;
+
+	private final Map<Integer, Entry> entries = new HashMap<>();
+
+	private final Map<String, Set<Integer>> postings = new HashMap<>();
+
+	OwnerSearch(OwnerRepository owners, PlatformTransactionManager transactionManager) {
+		super(transactionManager, "owner-search-");
+		this.owners = owners;
+	}
+
+	@Override
+	List<OwnerSummary> findAll() {
+		return this.owners.findAllSummaries();
+	}
+
+	@Override
+	List<OwnerSummary> findByIds(Collection<Integer> ids) {
+		return this.owners.findSummariesByIdIn(ids);
+	}
+
+	@Override
+	void rebuild(List<OwnerSummary> all) {
+		this.entries.clear();
+		this.postings.clear();
+		all.forEach(this::add);
+	}
+
+	@Override
+	void update(Collection<Integer> ids, List<OwnerSummary> changed) {
+		ids.forEach(this::remove);
+		changed.forEach(this::add);
+	}
+
+	/**
+	 * Search owners by any words of their names, city, telephone or pet names, best
+	 * matches first.
+	 * @param query the words to search for
+	 * @param limit the maximum number of owners to return
+	 * @return the matching owners
+	 */
+	List<OwnerSummary> search(String query, int limit) {
+		List<String> words = words(query);
+		if (words.isEmpty() || limit < 1) {
+			return List.of();
+		}
+		if (!isReady()) {
+			return this.owners.findSummarySliceByLastNameStartingWith(query.strip(), PageRequest.of(0, limit))
+				.getContent();
+		}
+		return read(() -> {
+			// an owner has to match every word, its score is the sum of the word scores
+			Map<Integer, Double> scores = score(words.get(0));
+			for (String word : words.subList(1, words.size())) {
+				Map<Integer, Double> wordScores = score(word);
+				scores.keySet().retainAll(wordScores.keySet());
+				scores.replaceAll((id, score) -> score + wordScores.getOrDefault(id, 0.0));
+			}
+			List<Match> matches = new ArrayList<>(scores.size());
+			scores.forEach((id, score) -> matches.add(new Match(entry(id).owner(), score)));
+			matches.sort(BY_RELEVANCE);
+			return matches.stream().limit(limit).map(Match::owner).toList();
+		});
+	}
+
+	/**
+	 * Score the owners matching a query word by the share of its trigrams they contain.
+	 */
+	private Map<Integer, Double> score(String word) {
+		boolean digits = isDigits(word);
+		Set<String> grams = digits && word.length() >= GRAM_LENGTH ? grams(word) : grams(PADDING + word);
+		Map<Integer, Integer> hits = new HashMap<>();
+		for (String gram : grams) {
+			for (Integer id : this.postings.getOrDefault(gram, Set.of())) {
+				hits.merge(id, 1, Integer::sum);
+			}
+		}
+		// short words and digits are matched exactly, longer words fuzzily
+		int required = (digits || word.length() < GRAM_LENGTH) ? grams.size()
+				: (int) Math.ceil(grams.size() * MIN_SIMILARITY);
+		Map<Integer, Double> scores = new HashMap<>();
+		hits.forEach((id, count) -> {
+			if (count >= required && (!digits || entry(id).contains(word))) {
+				scores.put(id, (double) count / grams.size());
+			}
+		});
+		return scores;
+	}
+
+	private void add(OwnerSummary owner) {
+		List<String> words = words(owner.firstName(), owner.lastName(), owner.city(), owner.telephone(),
+				owner.petNames());
+		Set<String> grams = new HashSet<>();
+		for (String word : words) {
+			grams.addAll(grams(PADDING + word));
+		}
+		this.entries.put(owner.id(), new Entry(owner, words, grams));
+		for (String gram : grams) {
+			this.postings.computeIfAbsent(gram, key -> new HashSet<>()).add(owner.id());
+		}
+	}
+
+	private void remove(Integer id) {
+		Entry entry = this.entries.remove(id);
+		if (entry == null) {
+			return;
+		}
+		for (String gram : entry.grams()) {
+			Set<Integer> ids = this.postings.get(gram);
+			if (ids != null) {
+				ids.remove(id);
+				if (ids.isEmpty()) {
+					this.postings.remove(gram);
+				}
+			}
+		}
+	}
+
+	private Entry entry(Integer id) {
+		return Objects.requireNonNull(this.entries.get(id));
+	}
+
+	private static List<String> words(@Nullable String... texts) {
+		Set<String> words = new LinkedHashSet<>();
+		for (String text : texts) {
+			if (text != null) {
+				for (String word : WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+					if (!word.isEmpty()) {
+						words.add(word);
+					}
+				}
+			}
+		}
+		return List.copyOf(words);
+	}
+
+	private static Set<String> grams(String text) {
+		Set<String> grams = new LinkedHashSet<>();
+		for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+			grams.add(text.substring(i, i + GRAM_LENGTH));
+		}
+		return grams;
+	}
+
+	private static boolean isDigits(String word) {
+		return word.chars().allMatch(Character::isDigit);
+	}
+
+	private record Entry(OwnerSummary owner, List<String> words, Set<String> grams) {
+
+		boolean contains(String part) {
+			return this.words.stream().anyMatch(word -> word.contains(part));
+		}
+
+	}
+
+	private record Match(OwnerSummary owner, double score) {
+
+	}
+
+}
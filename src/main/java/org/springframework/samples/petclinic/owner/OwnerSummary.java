@@ -0,0 +1,36 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Read-only projection of an {@link Owner} as listed in the owner search results. The
+ * names of the owner's pets are aggregated by the database so that the list can be
+ * rendered without loading any {@link Pet} or {@link Visit} entities.
+ *
+ * @param id the owner id
+ * @param firstName the owner's first name
+ * @param lastName the owner's last name
+ * @param address the owner's address
+ * @param city the owner's city
+ * @param telephone the owner's telephone
+ * @param petNames the comma separated, alphabetically ordered pet names
+ */
+public record OwnerSummary(Integer id, @Nullable String firstName, @Nullable String lastName, @Nullable String address,
+		@Nullable String city, @Nullable String telephone, @Nullable String petNames) {
+
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Event published when owners, their pets or visits have been saved, as a domain event of
+ * {@link Owner} and {@link Pet} or by the {@link OwnerImporter} and {@link VisitBooking}.
+ *
+ * @param ownerIds the ids of the owners that changed
+ */
+record OwnersChanged(Collection<Integer> ownerIds) {
+
+	static List<OwnersChanged> of(@Nullable Integer ownerId) {
+		return (ownerId != null) ? List.of(new OwnersChanged(List.of(ownerId))) : List.of();
+	}
+
+}
@@ -18,8 +18,10 @@ package org.springframework.samples.petclinic.owner;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
+import org.springframework.data.domain.DomainEvents;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.samples.petclinic.model.NamedEntity;
 
@@ -32,6 +34,7 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OrderBy;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -54,11 +57,73 @@ public class Pet extends NamedEntity {
 	@JoinColumn(name = "type_id")
 	private @Nullable PetType type;
 
-	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+	/**
+	 * The id of the owning {@link Owner}, written when the pet is inserted on its own
+	 * through {@link PetRepository}. Pets added with {@link Owner#addPet(Pet)} get the
+	 * column from the owner's pet association instead.
+	 */
+	@Column(name = "owner_id", updatable = false)
+	private @Nullable Integer ownerId;
+
+	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
 	@JoinColumn(name = "pet_id")
 	@OrderBy("date ASC")
 	private final Set<Visit> visits = new LinkedHashSet<>();
 
+	/**
+	 * The version of this pet, posted back by the pet form so that an edit based on an
+	 * outdated pet is rejected.
+	 */
+	@Version
+	private @Nullable Integer version;
+
+	/**
+	 * The owner whose pet index contains this pet, told to drop the index when the id or
+	 * name of this pet changes.
+	 */
+	private transient @Nullable Owner indexedBy;
+
+	@Override
+	public void setId(@Nullable Integer id) {
+		super.setId(id);
+		invalidateIndex();
+	}
+
+	@Override
+	public void setName(@Nullable String name) {
+		super.setName(name);
+		invalidateIndex();
+	}
+
+	void setIndexedBy(@Nullable Owner owner) {
+		this.indexedBy = owner;
+	}
+
+	private void invalidateIndex() {
+		Owner owner = this.indexedBy;
+		if (owner != null) {
+			owner.invalidatePetIndex();
+		}
+	}
+
+	@Nullable Integer getOwnerId() {
+		return this.ownerId;
+	}
+
+	void setOwnerId(@Nullable Integer ownerId) {
+		this.ownerId = ownerId;
+	}
+
+	/**
+	 * Announce that the owner of this pet has changed, so that {@link OwnerSearch}
+	 * reindexes the pet's name.
+	 * @return the events published by the repository after saving this pet
+	 */
+	@DomainEvents
+	List<OwnersChanged> ownersChanged() {
+		return OwnersChanged.of(this.ownerId);
+	}
+
 	public void setBirthDate(@Nullable LocalDate birthDate) {
 		this.birthDate = birthDate;
 	}
@@ -75,6 +140,14 @@ public class Pet extends NamedEntity {
 		this.type = type;
 	}
 
+	public @Nullable Integer getVersion() {
+		return this.version;
+	}
+
+	public void setVersion(@Nullable Integer version) {
+		this.version = version;
+	}
+
 	public Collection<Visit> getVisits() {
 		return this.visits;
 	}
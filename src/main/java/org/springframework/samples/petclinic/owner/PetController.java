@@ -17,11 +17,13 @@ package org.springframework.samples.petclinic.owner;
 
 import java.time.LocalDate;
 import java.util.Collection;
-import java.util.Objects;
 import java.util.Optional;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Controller;
-import org.springframework.ui.ModelMap;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 import org.springframework.validation.BindingResult;
@@ -33,6 +35,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.jspecify.annotations.Nullable;
 
@@ -52,11 +55,18 @@ class PetController {
 
 	private final OwnerRepository owners;
 
+	private final PetRepository pets;
+
 	private final PetTypeRepository types;
 
-	public PetController(OwnerRepository owners, PetTypeRepository types) {
+	private final TransactionTemplate transactionTemplate;
+
+	public PetController(OwnerRepository owners, PetRepository pets, PetTypeRepository types,
+			PlatformTransactionManager transactionManager) {
 		this.owners = owners;
+		this.pets = pets;
 		this.types = types;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
 	}
 
 	@ModelAttribute("types")
@@ -64,6 +74,9 @@ class PetController {
 		return this.types.findPetTypes();
 	}
 
+	/**
+	 * Loads the owner without its pets, as the form only shows the owner's name.
+	 */
 	@ModelAttribute("owner")
 	public Owner findOwner(@PathVariable("ownerId") int ownerId) {
 		Optional<Owner> optionalOwner = this.owners.findById(ownerId);
@@ -72,6 +85,9 @@ class PetController {
 		return owner;
 	}
 
+	/**
+	 * Loads the single pet being edited, scoped to the owner of the request path.
+	 */
 	@ModelAttribute("pet")
 	public @Nullable Pet findPet(@PathVariable("ownerId") int ownerId,
 			@PathVariable(name = "petId", required = false) @Nullable Integer petId) {
@@ -80,10 +96,7 @@ class PetController {
 			return new Pet();
 		}
 
-		Optional<Owner> optionalOwner = this.owners.findById(ownerId);
-		Owner owner = optionalOwner.orElseThrow(() -> new IllegalArgumentException(
-				"Owner not found with id: " + ownerId + ". Please ensure the ID is correct "));
-		return owner.getPet(petId);
+		return this.pets.findByOwnerIdAndId(ownerId, petId).orElse(null);
 	}
 
 	@InitBinder("owner")
@@ -93,22 +106,23 @@ class PetController {
 
 	@InitBinder("pet")
 	public void initPetBinder(WebDataBinder dataBinder) {
+		dataBinder.setDisallowedFields("id");
 		dataBinder.setValidator(new PetValidator());
 	}
 
 	@GetMapping("/pets/new")
-	public String initCreationForm(Owner owner, ModelMap model) {
-		Pet pet = new Pet();
-		owner.addPet(pet);
+	public String initCreationForm() {
 		return VIEWS_PETS_CREATE_OR_UPDATE_FORM;
 	}
 
 	@PostMapping("/pets/new")
-	public String processCreationForm(Owner owner, @Valid Pet pet, BindingResult result,
+	public String processCreationForm(@PathVariable("ownerId") int ownerId, @Valid Pet pet, BindingResult result,
 			RedirectAttributes redirectAttributes) {
 
-		if (StringUtils.hasText(pet.getName()) && pet.isNew() && owner.getPet(pet.getName(), true) != null)
+		String petName = pet.getName();
+		if (StringUtils.hasText(petName) && this.pets.existsByOwnerIdAndName(ownerId, petName, null)) {
 			result.rejectValue("name", "duplicate", "already exists");
+		}
 
 		LocalDate currentDate = LocalDate.now();
 		if (pet.getBirthDate() != null && pet.getBirthDate().isAfter(currentDate)) {
@@ -119,8 +133,10 @@ class PetController {
 			return VIEWS_PETS_CREATE_OR_UPDATE_FORM;
 		}
 
-		owner.addPet(pet);
-		this.owners.save(owner);
+		pet.setOwnerId(ownerId);
+		if (!savePet(ownerId, pet, result)) {
+			return VIEWS_PETS_CREATE_OR_UPDATE_FORM;
+		}
 		redirectAttributes.addFlashAttribute("message", "New Pet has been Added");
 		return "redirect:/owners/{ownerId}";
 	}
@@ -131,17 +147,16 @@ class PetController {
 	}
 
 	@PostMapping("/pets/{petId}/edit")
-	public String processUpdateForm(Owner owner, @Valid Pet pet, BindingResult result,
-			RedirectAttributes redirectAttributes) {
+	public String processUpdateForm(@PathVariable("ownerId") int ownerId, @Valid Pet pet, BindingResult result,
+			RedirectAttributes redirectAttributes, HttpServletResponse response) {
 
+		Integer id = pet.getId();
+		Assert.state(id != null, "'pet.getId()' must not be null");
 		String petName = pet.getName();
 
 		// checking if the pet name already exists for the owner
-		if (StringUtils.hasText(petName)) {
-			Pet existingPet = owner.getPet(petName, false);
-			if (existingPet != null && !Objects.equals(existingPet.getId(), pet.getId())) {
-				result.rejectValue("name", "duplicate", "already exists");
-			}
+		if (StringUtils.hasText(petName) && this.pets.existsByOwnerIdAndName(ownerId, petName, id)) {
+			result.rejectValue("name", "duplicate", "already exists");
 		}
 
 		LocalDate currentDate = LocalDate.now();
@@ -153,30 +168,48 @@ class PetController {
 			return VIEWS_PETS_CREATE_OR_UPDATE_FORM;
 		}
 
-		updatePetDetails(owner, pet);
+		try {
+			if (!savePet(ownerId, pet, result)) {
+				return VIEWS_PETS_CREATE_OR_UPDATE_FORM;
+			}
+		}
+		catch (OptimisticLockingFailureException ex) {
+			// the pet was changed since the form was shown, show the form again with the
+			// current version so that saving it again overwrites that change deliberately
+			this.pets.findByOwnerIdAndId(ownerId, id).map(Pet::getVersion).ifPresent(pet::setVersion);
+			result.reject("conflict", "has been changed in the meantime");
+			response.setStatus(HttpServletResponse.SC_CONFLICT);
+			return VIEWS_PETS_CREATE_OR_UPDATE_FORM;
+		}
 		redirectAttributes.addFlashAttribute("message", "Pet details has been edited");
 		return "redirect:/owners/{ownerId}";
 	}
 
 	/**
-	 * Updates the pet details if it exists or adds a new pet to the owner.
-	 * @param owner The owner of the pet
-	 * @param pet The pet with updated details
+	 * Saves the pet and increments the version of its owner in one transaction, turning a
+	 * violation of the unique pet name index by a concurrent request into the same
+	 * "duplicate" error as the check done before.
+	 * @param ownerId the id of the owner of the pet
+	 * @param pet the pet to save
+	 * @param result the binding result to report a duplicate name to
+	 * @return whether the pet was saved
+	 * @throws OptimisticLockingFailureException if the pet was changed in the meantime
 	 */
-	private void updatePetDetails(Owner owner, Pet pet) {
-		Integer id = pet.getId();
-		Assert.state(id != null, "'pet.getId()' must not be null");
-		Pet existingPet = owner.getPet(id);
-		if (existingPet != null) {
-			// Update existing pet's properties
-			existingPet.setName(pet.getName());
-			existingPet.setBirthDate(pet.getBirthDate());
-			existingPet.setType(pet.getType());
+	private boolean savePet(int ownerId, Pet pet, BindingResult result) {
+		try {
+			this.transactionTemplate.executeWithoutResult(status -> {
+				this.pets.save(pet);
+				this.owners.incrementVersion(ownerId);
+			});
+			return true;
 		}
-		else {
-			owner.addPet(pet);
+		catch (DataIntegrityViolationException ex) {
+			if (!PetRepository.isDuplicateName(ex)) {
+				throw ex;
+			}
+			result.rejectValue("name", "duplicate", "already exists");
+			return false;
 		}
-		this.owners.save(owner);
 	}
 
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.jspecify.annotations.Nullable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+
+/**
+ * Repository class for <code>Pet</code> domain objects, used by the pet forms to read and
+ * write a single pet without loading the other pets of its owner.
+ * <p>
+ * The name of a pet is unique per owner, ignoring case. This is enforced by the
+ * {@value #UNIQUE_NAME_INDEX} unique index, so a concurrent insert or rename that passes
+ * {@link #existsByOwnerIdAndName} still fails on save, see
+ * {@link #isDuplicateName(DataIntegrityViolationException)}.
+ */
+public interface PetRepository extends Repository<Pet, Integer> {
+
+	/**
+	 * Name of the unique index on the owner id and the case-insensitive pet name, or the
+	 * start of it, in every schema.
+	 */
+	String UNIQUE_NAME_INDEX = "pets_owner_id_name";
+
+	/**
+	 * Retrieve a {@link Pet} together with its type by id, provided it belongs to the
+	 * given owner.
+	 * @param ownerId the id of the owner
+	 * @param id the id of the pet
+	 * @return an {@link Optional} containing the {@link Pet} if found, or an empty
+	 * {@link Optional} if not found.
+	 */
+	@EntityGraph(attributePaths = "type")
+	Optional<Pet> findByOwnerIdAndId(Integer ownerId, Integer id);
+
+	/**
+	 * Retrieve the {@link Pet}s of the given owner together with their types, ordered by
+	 * name like {@link Owner#getPets()}.
+	 * @param ownerId the id of the owner
+	 * @return the pets of the owner
+	 */
+	@EntityGraph(attributePaths = "type")
+	List<Pet> findByOwnerIdOrderByName(Integer ownerId);
+
+	/**
+	 * Retrieve the ids of those of the given pets that belong to the given owner.
+	 * @param ownerId the id of the owner
+	 * @param ids the ids of the pets to test
+	 * @return the ids of the pets of the owner among the given ones
+	 */
+	@Query("SELECT p.id FROM Pet p WHERE p.ownerId = :ownerId AND p.id IN :ids")
+	List<Integer> findIdsByOwnerIdAndIdIn(Integer ownerId, Collection<Integer> ids);
+
+	/**
+	 * Check whether the given owner has a pet with the given name, ignoring case. The
+	 * names are compared through the <code>ignore_case</code> function, so that the check
+	 * is served by the {@value #UNIQUE_NAME_INDEX} index.
+	 * @param ownerId the id of the owner
+	 * @param name the name to test
+	 * @param excludedPetId the id of a pet to ignore, typically the pet being renamed, or
+	 * {@code null} to check all pets of the owner
+	 * @return {@code true} if another pet of the owner has that name
+	 */
+	@Query("""
+			SELECT count(p) > 0 FROM Pet p
+			WHERE p.ownerId = :ownerId AND ignore_case(p.name) = ignore_case(:name)
+				AND (:excludedPetId IS NULL OR p.id <> :excludedPetId)
+			""")
+	boolean existsByOwnerIdAndName(Integer ownerId, String name, @Nullable Integer excludedPetId);
+
+	/**
+	 * Save a {@link Pet} to the data store, either inserting or updating it.
+	 * @param pet the {@link Pet} to save
+	 * @return the saved {@link Pet}
+	 */
+	Pet save(Pet pet);
+
+	/**
+	 * Tell whether the given exception, thrown by {@link #save(Pet)}, was caused by a
+	 * violation of the {@value #UNIQUE_NAME_INDEX} index. The constraint name reported by
+	 * the database is qualified and upper case on some of them, so it is matched loosely.
+	 * @param ex the exception to examine
+	 * @return {@code true} if the pet name is already taken by another pet of the owner
+	 */
+	static boolean isDuplicateName(DataIntegrityViolationException ex) {
+		for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+			if (cause instanceof ConstraintViolationException violation) {
+				String constraintName = violation.getConstraintName();
+				return constraintName != null && constraintName.toLowerCase(Locale.ROOT).contains(UNIQUE_NAME_INDEX);
+			}
+		}
+		return false;
+	}
+
+}
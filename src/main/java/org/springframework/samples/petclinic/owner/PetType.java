@@ -17,6 +17,9 @@ package org.springframework.samples.petclinic.owner;
 
 import org.springframework.samples.petclinic.model.NamedEntity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 
@@ -25,6 +28,7 @@ import jakarta.persistence.Table;
  */
 @Entity
 @Table(name = "types")
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "petType")
 public class PetType extends NamedEntity {
 
 }
@@ -19,9 +19,12 @@ import org.springframework.format.Formatter;
 import org.springframework.stereotype.Component;
 
 import java.text.ParseException;
-import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
-import java.util.Objects;
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
 
 /**
  * Instructs Spring MVC on how to parse and print elements of type 'PetType'. Starting
@@ -38,6 +41,8 @@ public class PetTypeFormatter implements Formatter<PetType> {
 
 	private final PetTypeRepository types;
 
+	private volatile @Nullable Index index;
+
 	public PetTypeFormatter(PetTypeRepository types) {
 		this.types = types;
 	}
@@ -50,13 +55,41 @@ public class PetTypeFormatter implements Formatter<PetType> {
 
 	@Override
 	public PetType parse(String text, Locale locale) throws ParseException {
-		Collection<PetType> findPetTypes = this.types.findPetTypes();
-		for (PetType type : findPetTypes) {
-			if (Objects.equals(type.getName(), text)) {
-				return type;
+		PetType type = getIndex().byName().get(text);
+		if (type == null) {
+			throw new ParseException("type not found: " + text, 0);
+		}
+		return type;
+	}
+
+	/**
+	 * Return the name index for the current pet types. The types are served from the
+	 * "petTypes" cache, so the index is only rebuilt when the cached list has been
+	 * replaced, i.e. after the cache was evicted because the types changed.
+	 */
+	private Index getIndex() {
+		List<PetType> current = this.types.findPetTypes();
+		Index index = this.index;
+		if (index == null || index.source() != current) {
+			index = Index.of(current);
+			this.index = index;
+		}
+		return index;
+	}
+
+	private record Index(List<PetType> source, Map<String, PetType> byName) {
+
+		static Index of(List<PetType> types) {
+			Map<String, PetType> byName = new HashMap<>();
+			for (PetType type : types) {
+				String name = type.getName();
+				if (name != null) {
+					byName.putIfAbsent(name, type);
+				}
 			}
+			return new Index(types, Map.copyOf(byName));
 		}
-		throw new ParseException("type not found: " + text, 0);
+
 	}
 
 }
@@ -18,8 +18,13 @@ package org.springframework.samples.petclinic.owner;
 
 import java.util.List;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 /**
  * Repository class for <code>PetType</code> domain objects.
@@ -30,10 +35,65 @@ import org.springframework.data.jpa.repository.Query;
 public interface PetTypeRepository extends JpaRepository<PetType, Integer> {
 
 	/**
-	 * Retrieve all {@link PetType}s from the data store.
+	 * Retrieve all {@link PetType}s from the data store. The result is cached in the
+	 * "petTypes" cache, which is evicted by every write operation of this repository.
+	 * Once that entry expired, the query is answered from the Hibernate query cache and
+	 * the pet types from the second-level cache, without any SQL unless the
+	 * <code>types</code> table changed in the meantime.
 	 * @return a Collection of {@link PetType}s.
 	 */
+	@Cacheable("petTypes")
 	@Query("SELECT ptype FROM PetType ptype ORDER BY ptype.name")
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+			@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "petTypeQueries") })
 	List<PetType> findPetTypes();
 
+	@Override
+	@CacheEvict(cacheNames = "petTypes", allEntries = true)
+	<S extends PetType> S save(S entity);
+
+	@Override
+	@CacheEvict(cacheNames = "petTypes", allEntries = true)
+	<S extends PetType> S saveAndFlush(S entity);
+
+	@Override
+	@CacheEvict(cacheNames = "petTypes", allEntries = true)
+	<S extends PetType> List<S> saveAll(Iterable<S> entities);
+
+	@Override
+	@CacheEvict(cacheNames = "petTypes", allEntries = true)
+	<S extends PetType> List<S> saveAllAndFlush(Iterable<S> entities);
+
+	@Override
+	@CacheEvict(cacheNames = "petTypes", allEntries = true)
+	void delete(PetType entity);
+
+	@Override
+	@CacheEvict(cacheNames = "petTypes", allEntries = true)
+	void deleteById(Integer id);
+
+	@Override
+	@CacheEvict(cacheNames = "petTypes", allEntries = true)
+	void deleteAll();
+
+	@Override
+	@CacheEvict(cacheNames = "petTypes", allEntries = true)
+	void deleteAllById(Iterable<? extends Integer> ids);
+
+	@Override
+	@CacheEvict(cacheNames = "petTypes", allEntries = true)
+	void deleteAll(Iterable<? extends PetType> entities);
+
+	@Override
+	@CacheEvict(cacheNames = "petTypes", allEntries = true)
+	void deleteAllInBatch();
+
+	@Override
+	@CacheEvict(cacheNames = "petTypes", allEntries = true)
+	void deleteAllInBatch(Iterable<PetType> entities);
+
+	@Override
+	@CacheEvict(cacheNames = "petTypes", allEntries = true)
+	void deleteAllByIdInBatch(Iterable<Integer> ids);
+
 }
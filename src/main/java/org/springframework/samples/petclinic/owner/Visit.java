@@ -43,6 +43,15 @@ public class Visit extends BaseEntity {
 	@NotBlank
 	private @Nullable String description;
 
+	/**
+	 * The id of the {@link Pet} this visit belongs to, written when the visit is inserted
+	 * on its own through {@link VisitRepository}. Visits added with
+	 * {@link Pet#addVisit(Visit)} get the column from the pet's visit association
+	 * instead.
+	 */
+	@Column(name = "pet_id", updatable = false)
+	private @Nullable Integer petId;
+
 	/**
 	 * Creates a new instance of Visit for the current date
 	 */
@@ -66,4 +75,12 @@ public class Visit extends BaseEntity {
 		this.description = description;
 	}
 
+	@Nullable Integer getPetId() {
+		return this.petId;
+	}
+
+	void setPetId(@Nullable Integer petId) {
+		this.petId = petId;
+	}
+
 }
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Books new visits by inserting only the visit rows. The owner of the pets is checked
+ * with a single query on the pet ids and its version is incremented without reading it,
+ * so the cost of a booking does not depend on how many pets and visits the owner already
+ * has.
+ */
+@Component
+class VisitBooking {
+
+	private final OwnerRepository owners;
+
+	private final PetRepository pets;
+
+	private final VisitRepository visits;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final ApplicationEventPublisher events;
+
+	VisitBooking(OwnerRepository owners, PetRepository pets, VisitRepository visits,
+			PlatformTransactionManager transactionManager, ApplicationEventPublisher events) {
+		this.owners = owners;
+		this.pets = pets;
+		this.visits = visits;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.events = events;
+	}
+
+	/**
+	 * Book a visit for a pet of the given owner.
+	 * @param ownerId the id of the owner
+	 * @param petId the id of the pet
+	 * @param visit the new visit
+	 * @return the saved visit
+	 * @throws IllegalArgumentException if the pet does not belong to the owner
+	 */
+	Visit book(int ownerId, int petId, Visit visit) {
+		visit.setPetId(petId);
+		return book(ownerId, List.of(visit)).get(0);
+	}
+
+	/**
+	 * Book visits for pets of the given owner in one transaction, each visit for the pet
+	 * given by its pet id. Either all visits are saved or none.
+	 * @param ownerId the id of the owner
+	 * @param visits the new visits
+	 * @return the saved visits
+	 * @throws IllegalArgumentException if any of the pets does not belong to the owner
+	 */
+	List<Visit> book(int ownerId, List<Visit> visits) {
+		Set<Integer> petIds = new LinkedHashSet<>();
+		for (Visit visit : visits) {
+			petIds.add(Objects.requireNonNull(visit.getPetId(), "Visit must have a pet id"));
+		}
+		List<Visit> saved = this.transactionTemplate.execute(status -> {
+			if (petIds.isEmpty()) {
+				return List.of();
+			}
+			petIds.removeAll(this.pets.findIdsByOwnerIdAndIdIn(ownerId, petIds));
+			if (!petIds.isEmpty()) {
+				throw new IllegalArgumentException(
+						"Pets with ids " + petIds + " not found for owner with id " + ownerId + ".");
+			}
+			List<Visit> booked = this.visits.saveAll(visits);
+			this.owners.incrementVersion(ownerId);
+			this.events.publishEvent(new OwnersChanged(List.of(ownerId)));
+			return booked;
+		});
+		return Objects.requireNonNull(saved);
+	}
+
+}
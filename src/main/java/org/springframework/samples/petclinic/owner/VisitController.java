@@ -15,10 +15,17 @@
  */
 package org.springframework.samples.petclinic.owner;
 
-import java.util.Map;
-import java.util.Optional;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
 
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -26,8 +33,14 @@ import org.springframework.web.bind.annotation.InitBinder;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.server.ResponseStatusException;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 /**
@@ -41,10 +54,25 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 @Controller
 class VisitController {
 
+	private static final String VIEWS_VISIT_CREATE_OR_UPDATE_FORM = "pets/createOrUpdateVisitForm";
+
 	private final OwnerRepository owners;
 
-	public VisitController(OwnerRepository owners) {
+	private final PetRepository pets;
+
+	private final VisitRepository visits;
+
+	private final VisitBooking booking;
+
+	private final int visitPageSize;
+
+	public VisitController(OwnerRepository owners, PetRepository pets, VisitRepository visits, VisitBooking booking,
+			@Value("${petclinic.visits.page-size:5}") int visitPageSize) {
 		this.owners = owners;
+		this.pets = pets;
+		this.visits = visits;
+		this.booking = booking;
+		this.visitPageSize = visitPageSize;
 	}
 
 	@InitBinder
@@ -52,53 +80,94 @@ class VisitController {
 		dataBinder.setDisallowedFields("id");
 	}
 
-	/**
-	 * Called before each and every @RequestMapping annotated method. 2 goals: - Make sure
-	 * we always have fresh data - Since we do not use the session scope, make sure that
-	 * Pet object always has an id (Even though id is not part of the form fields)
-	 * @param petId
-	 * @return Pet
-	 */
 	@ModelAttribute("visit")
-	public Visit loadPetWithVisit(@PathVariable("ownerId") int ownerId, @PathVariable("petId") int petId,
-			Map<String, Object> model) {
-		Optional<Owner> optionalOwner = owners.findById(ownerId);
-		Owner owner = optionalOwner.orElseThrow(() -> new IllegalArgumentException(
-				"Owner not found with id: " + ownerId + ". Please ensure the ID is correct "));
-
-		Pet pet = owner.getPet(petId);
-		if (pet == null) {
-			throw new IllegalArgumentException(
-					"Pet with id " + petId + " not found for owner with id " + ownerId + ".");
-		}
-		model.put("pet", pet);
-		model.put("owner", owner);
-
-		Visit visit = new Visit();
-		pet.addVisit(visit);
-		return visit;
+	public Visit newVisit() {
+		return new Visit();
 	}
 
-	// Spring MVC calls method loadPetWithVisit(...) before initNewVisitForm is
-	// called
 	@GetMapping("/owners/{ownerId}/pets/{petId}/visits/new")
-	public String initNewVisitForm() {
-		return "pets/createOrUpdateVisitForm";
+	public String initNewVisitForm(@PathVariable("ownerId") int ownerId, @PathVariable("petId") int petId,
+			Model model) {
+		populateForm(ownerId, petId, model);
+		return VIEWS_VISIT_CREATE_OR_UPDATE_FORM;
 	}
 
-	// Spring MVC calls method loadPetWithVisit(...) before processNewVisitForm is
-	// called
+	/**
+	 * Inserts the new visit only. The owner, the pet and the previous visits shown by the
+	 * form are read only when the form has to be shown again.
+	 */
 	@PostMapping("/owners/{ownerId}/pets/{petId}/visits/new")
-	public String processNewVisitForm(@ModelAttribute Owner owner, @PathVariable int petId, @Valid Visit visit,
-			BindingResult result, RedirectAttributes redirectAttributes) {
+	public String processNewVisitForm(@PathVariable("ownerId") int ownerId, @PathVariable("petId") int petId,
+			@Valid Visit visit, BindingResult result, Model model, RedirectAttributes redirectAttributes) {
 		if (result.hasErrors()) {
-			return "pets/createOrUpdateVisitForm";
+			populateForm(ownerId, petId, model);
+			return VIEWS_VISIT_CREATE_OR_UPDATE_FORM;
 		}
 
-		owner.addVisit(petId, visit);
-		this.owners.save(owner);
+		this.booking.book(ownerId, petId, visit);
 		redirectAttributes.addFlashAttribute("message", "Your visit has been booked");
 		return "redirect:/owners/{ownerId}";
 	}
 
+	/**
+	 * Books several visits for pets of an owner at once. Either all visits are booked or,
+	 * if any of them is invalid or for a pet of another owner, none.
+	 * @param ownerId the id of the owner
+	 * @param entries the visits to book
+	 * @return the booked visits with their ids
+	 */
+	@PostMapping(value = "/owners/{ownerId}/visits", consumes = MediaType.APPLICATION_JSON_VALUE)
+	@ResponseStatus(HttpStatus.CREATED)
+	public @ResponseBody List<VisitEntry> processNewVisits(@PathVariable("ownerId") int ownerId,
+			@RequestBody List<@Valid VisitEntry> entries) {
+		List<Visit> visits = entries.stream().map(VisitEntry::toVisit).toList();
+		try {
+			return this.booking.book(ownerId, visits).stream().map(VisitEntry::of).toList();
+		}
+		catch (IllegalArgumentException ex) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+		}
+	}
+
+	private void populateForm(int ownerId, int petId, Model model) {
+		Owner owner = this.owners.findById(ownerId)
+			.orElseThrow(() -> new IllegalArgumentException(
+					"Owner not found with id: " + ownerId + ". Please ensure the ID is correct "));
+		Pet pet = this.pets.findByOwnerIdAndId(ownerId, petId)
+			.orElseThrow(() -> new IllegalArgumentException(
+					"Pet with id " + petId + " not found for owner with id " + ownerId + "."));
+		model.addAttribute("owner", owner);
+		model.addAttribute("pet", pet);
+		model.addAttribute("visitPage",
+				this.visits.findByOwnerIdAndPetId(ownerId, petId, PageRequest.of(0, this.visitPageSize)));
+	}
+
+	/**
+	 * A visit as booked through {@code POST /owners/{ownerId}/visits}.
+	 *
+	 * @param id the id of the visit, ignored when booking
+	 * @param petId the id of the pet
+	 * @param date the date of the visit, today if not given
+	 * @param description the description of the visit
+	 */
+	record VisitEntry(@Nullable Integer id, @NotNull Integer petId, @Nullable LocalDate date,
+			@NotBlank @Nullable String description) {
+
+		static VisitEntry of(Visit visit) {
+			return new VisitEntry(visit.getId(), Objects.requireNonNull(visit.getPetId()), visit.getDate(),
+					visit.getDescription());
+		}
+
+		Visit toVisit() {
+			Visit visit = new Visit();
+			visit.setPetId(this.petId);
+			if (this.date != null) {
+				visit.setDate(this.date);
+			}
+			visit.setDescription(this.description);
+			return visit;
+		}
+
+	}
+
 }
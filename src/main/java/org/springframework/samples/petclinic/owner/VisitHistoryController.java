@@ -0,0 +1,52 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * Serves further pages of the visit history of a pet as table rows, fetched by the "load
+ * more" link of the owner details page.
+ */
+@Controller
+class VisitHistoryController {
+
+	private final VisitRepository visits;
+
+	private final int pageSize;
+
+	VisitHistoryController(VisitRepository visits, @Value("${petclinic.visits.page-size:5}") int pageSize) {
+		this.visits = visits;
+		this.pageSize = pageSize;
+	}
+
+	@GetMapping("/owners/{ownerId}/pets/{petId}/visits")
+	public String showVisits(@PathVariable("ownerId") int ownerId, @PathVariable("petId") int petId,
+			@RequestParam(defaultValue = "1") int page, Model model) {
+		model.addAttribute("ownerId", ownerId);
+		model.addAttribute("petId", petId);
+		model.addAttribute("visitPage", this.visits.findByOwnerIdAndPetId(ownerId, petId,
+				PageRequest.of(Math.max(page, 1) - 1, this.pageSize)));
+		return "owners/visitRows :: visitRows";
+	}
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.NativeQuery;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+
+/**
+ * Repository class for <code>Visit</code> domain objects, reading the visit history of a
+ * pet latest first and one page at a time. The queries are served by the
+ * <code>visits_pet_id</code> index on <code>(pet_id, visit_date)</code>.
+ * <p>
+ * New visits are inserted on their own, see {@link VisitBooking}, instead of being added
+ * to their pet and merged with the whole owner aggregate.
+ */
+public interface VisitRepository extends Repository<Visit, Integer> {
+
+	/**
+	 * Retrieve a page of the visits of a pet, latest first, provided the pet belongs to
+	 * the given owner. No count query is issued.
+	 * @param ownerId the id of the owner
+	 * @param petId the id of the pet
+	 * @param pageable the page to retrieve
+	 * @return a {@link Slice} of {@link Visit}s, empty if the pet does not belong to the
+	 * owner
+	 */
+	@Query("""
+			SELECT v FROM Visit v JOIN Pet p ON p.id = v.petId
+			WHERE p.ownerId = :ownerId AND p.id = :petId
+			ORDER BY v.date DESC, v.id DESC
+			""")
+	Slice<Visit> findByOwnerIdAndPetId(Integer ownerId, Integer petId, Pageable pageable);
+
+	/**
+	 * Retrieve the first page of the visits of each of the given pets in a single
+	 * statement, latest first.
+	 * @param petIds the ids of the pets
+	 * @param pageSize the number of visits per pet
+	 * @return a {@link Slice} of {@link Visit}s per pet id, in the order of the given ids
+	 */
+	default Map<Integer, Slice<Visit>> findFirstPageByPetIds(Collection<Integer> petIds, int pageSize) {
+		Map<Integer, List<Visit>> visitsByPet = new LinkedHashMap<>();
+		for (Integer petId : petIds) {
+			visitsByPet.put(petId, new ArrayList<>());
+		}
+		if (!petIds.isEmpty()) {
+			for (Visit visit : findLatestByPetIds(petIds, pageSize + 1)) {
+				List<Visit> visits = visitsByPet.get(visit.getPetId());
+				if (visits != null) {
+					visits.add(visit);
+				}
+			}
+		}
+		Pageable firstPage = PageRequest.of(0, pageSize);
+		Map<Integer, Slice<Visit>> pages = new LinkedHashMap<>();
+		visitsByPet.forEach((petId, visits) -> {
+			boolean hasNext = visits.size() > pageSize;
+			pages.put(petId, new SliceImpl<>(hasNext ? visits.subList(0, pageSize) : visits, firstPage, hasNext));
+		});
+		return pages;
+	}
+
+	/**
+	 * Retrieve at most the given number of latest visits of each of the given pets. The
+	 * visits of each pet are numbered latest first, comparing the date and then the id,
+	 * in one pass over the <code>visits_pet_id</code> index.
+	 * @param petIds the ids of the pets
+	 * @param limit the maximum number of visits per pet
+	 * @return the {@link Visit}s ordered by pet, latest first
+	 */
+	@NativeQuery("""
+			SELECT id, pet_id, visit_date, description FROM (
+				SELECT v.id, v.pet_id, v.visit_date, v.description,
+					ROW_NUMBER() OVER (PARTITION BY v.pet_id ORDER BY v.visit_date DESC, v.id DESC) AS recency
+				FROM visits v
+				WHERE v.pet_id IN (:petIds)
+			) latest
+			WHERE recency <= :limit
+			ORDER BY pet_id, visit_date DESC, id DESC
+			""")
+	List<Visit> findLatestByPetIds(Collection<Integer> petIds, long limit);
+
+	/**
+	 * Insert the given visits, each for the pet given by its pet id.
+	 * @param visits the new {@link Visit}s
+	 * @return the saved {@link Visit}s
+	 */
+	<S extends Visit> List<S> saveAll(Iterable<S> visits);
+
+}
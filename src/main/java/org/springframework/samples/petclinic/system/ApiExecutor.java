@@ -0,0 +1,113 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+/**
+ * Runs the handlers of the read API (<code>/api/**</code>) on a fixed number of threads
+ * of its own, configured by <code>petclinic.api.*</code>. The API uses no more connections than the pool
+ * has threads, and slow API clients cannot hold the application task executor that runs
+ * the owner export.
+ * <p>
+ * A request waits in the queue of the pool at most until its timeout, after which it is
+ * answered with <em>503 Service Unavailable</em> and its handler is cancelled, whether it
+ * has started or not.
+ */
+@Component
+public class ApiExecutor implements DisposableBean {
+
+	private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+	private final long timeout;
+
+	private final long streamTimeout;
+
+	ApiExecutor(@Value("${petclinic.api.threads:10}") int threads,
+			@Value("${petclinic.api.timeout:10s}") Duration timeout,
+			@Value("${petclinic.api.stream-timeout:5m}") Duration streamTimeout) {
+		this.executor.setCorePoolSize(threads);
+		this.executor.setMaxPoolSize(threads);
+		this.executor.setThreadNamePrefix("api-");
+		this.executor.initialize();
+		this.timeout = timeout.toMillis();
+		this.streamTimeout = streamTimeout.toMillis();
+	}
+
+	/**
+	 * Return a task running the given handler on the API thread pool.
+	 * @param handler computes the response
+	 * @return the task to return from the handler method
+	 */
+	public <T> WebAsyncTask<T> task(Callable<T> handler) {
+		return new WebAsyncTask<>(this.timeout, this.executor, handler);
+	}
+
+	/**
+	 * Return an emitter streaming the response written by the given body on the API
+	 * thread pool. The stream is completed once the body returned. Once the stream timeout
+	 * elapsed or the stream failed, the body is cancelled, so a body still waiting in the
+	 * queue never opens its transaction.
+	 * @param body writes the response through the emitter
+	 * @return the emitter to return from the handler method
+	 */
+	public ResponseBodyEmitter stream(StreamingBody body) {
+		ResponseBodyEmitter emitter = new ResponseBodyEmitter(this.streamTimeout);
+		Future<?> writer = this.executor.submit(() -> {
+			try {
+				body.writeTo(emitter);
+				emitter.complete();
+			}
+			catch (IOException | RuntimeException ex) {
+				emitter.completeWithError(ex);
+			}
+		});
+		emitter.onTimeout(() -> writer.cancel(true));
+		emitter.onError(ex -> writer.cancel(true));
+		return emitter;
+	}
+
+	@Override
+	public void destroy() {
+		this.executor.shutdown();
+	}
+
+	/**
+	 * Writes a streamed response.
+	 */
+	@FunctionalInterface
+	public interface StreamingBody {
+
+		/**
+		 * Write the response.
+		 * @param emitter the emitter to send the response through
+		 * @throws IOException if the response could not be written
+		 */
+		void writeTo(ResponseBodyEmitter emitter) throws IOException;
+
+	}
+
+}
@@ -16,38 +16,113 @@
 
 package org.springframework.samples.petclinic.system;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+import javax.cache.CacheManager;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
 import org.springframework.boot.cache.autoconfigure.JCacheManagerCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import javax.cache.configuration.MutableConfiguration;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+
+import jakarta.persistence.EntityManagerFactory;
 
 /**
  * Cache configuration intended for caches providing the JCache API. This configuration
- * creates the used cache for the application and enables statistics that become
- * accessible via JMX.
+ * creates the used caches for the application, bounds each of them by the size and
+ * expiration configured in {@link CacheProperties} and enables statistics that become
+ * accessible via JMX and the actuator <code>cache.*</code> metrics.
  */
 @Configuration(proxyBeanMethods = false)
 @EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
 class CacheConfiguration {
 
+	/**
+	 * The cache regions of the application: the full vet list, the vet list pages, the
+	 * pet types and the rendered template fragments, followed by the Hibernate
+	 * second-level cache regions of the reference entities, the specialties of each vet,
+	 * the cached pet type query, the default query results region that Hibernate creates
+	 * whenever the query cache is enabled and the update timestamps that cached queries
+	 * are validated against.
+	 */
+	static final List<String> CACHE_NAMES = List.of("vets", "vetPages", "petTypes", "fragments", "petType", "specialty",
+			"vet", "vetSpecialties", "petTypeQueries", RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+			RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME);
+
+	@Bean
+	public JCacheManagerCustomizer petclinicCacheConfigurationCustomizer(CacheProperties properties) {
+		return cm -> {
+			for (String name : CACHE_NAMES) {
+				// the JCache manager is shared per class loader, e.g. by several test
+				// contexts
+				if (cm.getCache(name) == null) {
+					cm.createCache(name, cacheConfiguration(properties.region(name)));
+				}
+			}
+		};
+	}
+
+	/**
+	 * Back the Hibernate second-level cache and query cache with the same cache manager,
+	 * so its regions are bounded by {@link CacheProperties} and expose the same
+	 * <code>cache.*</code> metrics as the Spring caches. A region missing from
+	 * {@link #CACHE_NAMES} fails the startup rather than being created unbounded.
+	 */
+	@Bean
+	public HibernatePropertiesCustomizer petclinicSecondLevelCacheCustomizer(CacheManager cacheManager) {
+		return hibernateProperties -> {
+			hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+			hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+			hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+			hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+			hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+		};
+	}
+
+	@Bean
+	public FragmentCache fragmentCache(org.springframework.cache.CacheManager cacheManager,
+			EntityManagerFactory entityManagerFactory) {
+		return new FragmentCache(cacheManager, entityManagerFactory);
+	}
+
+	/**
+	 * Add the <code>pc:cache</code> attribute caching rendered template fragments.
+	 */
 	@Bean
-	public JCacheManagerCustomizer petclinicCacheConfigurationCustomizer() {
-		return cm -> cm.createCache("vets", cacheConfiguration());
+	public FragmentCacheDialect fragmentCacheDialect(FragmentCache fragmentCache) {
+		return new FragmentCacheDialect(fragmentCache);
 	}
 
 	/**
-	 * Create a simple configuration that enable statistics via the JCache programmatic
-	 * configuration API.
+	 * Create the configuration of a single region.
 	 * <p>
-	 * Within the configuration object that is provided by the JCache API standard, there
-	 * is only a very limited set of configuration options. The really relevant
-	 * configuration options (like the size limit) must be set via a configuration
-	 * mechanism that is provided by the selected JCache implementation.
+	 * The JCache API itself has no notion of a size limit, so the Caffeine specific
+	 * configuration is used to apply the maximum size and expire-after-write policy of
+	 * the region. Entries are stored by reference rather than by value, so every hit
+	 * returns the same instance and consumers can keep derived structures (like the name
+	 * index of the {@code PetTypeFormatter}) until the entry is evicted.
 	 */
-	private javax.cache.configuration.Configuration<Object, Object> cacheConfiguration() {
-		return new MutableConfiguration<>().setStatisticsEnabled(true);
+	private static javax.cache.configuration.Configuration<Object, Object> cacheConfiguration(
+			CacheProperties.Region region) {
+		CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+		configuration.setStatisticsEnabled(true);
+		configuration.setStoreByValue(false);
+		configuration.setMaximumSize(OptionalLong.of(region.maximumSize()));
+		Duration expireAfterWrite = region.expireAfterWrite();
+		if (expireAfterWrite != null) {
+			configuration.setExpireAfterWrite(OptionalLong.of(expireAfterWrite.toNanos()));
+		}
+		return configuration;
 	}
 
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Size and expiration settings of the application's cache regions, bound from
+ * <code>petclinic.cache.regions.&lt;name&gt;.*</code>.
+ *
+ * @param regions the settings per cache name
+ */
+@ConfigurationProperties("petclinic.cache")
+public record CacheProperties(@DefaultValue Map<String, Region> regions) {
+
+	private static final long DEFAULT_MAXIMUM_SIZE = 1000;
+
+	/**
+	 * Return the settings of the given region, or the defaults if none are configured.
+	 * @param name the cache name
+	 * @return the region settings
+	 */
+	public Region region(String name) {
+		Region region = this.regions.get(name);
+		return (region != null) ? region : new Region(DEFAULT_MAXIMUM_SIZE, null);
+	}
+
+	/**
+	 * Settings of a single cache region.
+	 *
+	 * @param maximumSize the maximum number of entries kept in the region
+	 * @param expireAfterWrite how long an entry is kept after it was written, or
+	 * {@code null} to keep it until it is evicted by size
+	 */
+	public record Region(@DefaultValue("" + DEFAULT_MAXIMUM_SIZE) long maximumSize,
+			@Nullable Duration expireAfterWrite) {
+
+	}
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.io.IOException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Answers the requests that did not get a database connection within the connection
+ * timeout of the pool with <em>503 Service Unavailable</em> instead of a server error.
+ * Only requests that actually need a connection wait for one, so requests that do not
+ * touch the database, such as the health probes and cached pages, are never held back.
+ * This also covers asynchronous requests, whose exceptions are resolved once they are
+ * dispatched back to the container.
+ * <p>
+ * The rejected requests are published as the <code>petclinic.requests.rejected</code>
+ * metric, the requests waiting for a connection are the
+ * <code>hikaricp.connections.pending</code> metric of the pool.
+ */
+class ConnectionUnavailableExceptionResolver implements HandlerExceptionResolver, Ordered, MeterBinder {
+
+	private static final String RETRY_AFTER_SECONDS = "1";
+
+	private final LongAdder rejected = new LongAdder();
+
+	@Override
+	public @Nullable ModelAndView resolveException(HttpServletRequest request, HttpServletResponse response,
+			@Nullable Object handler, Exception ex) {
+		if (!isConnectionUnavailable(ex) || response.isCommitted()) {
+			return null;
+		}
+		this.rejected.increment();
+		response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+		try {
+			response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+		}
+		catch (IOException ioEx) {
+			return null;
+		}
+		return new ModelAndView();
+	}
+
+	private static boolean isConnectionUnavailable(Throwable ex) {
+		for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+			if (cause instanceof SQLTransientConnectionException) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public int getOrder() {
+		// before the @ExceptionHandler methods, after the error attributes
+		return Ordered.HIGHEST_PRECEDENCE + 1;
+	}
+
+	/**
+	 * Return the number of requests rejected so far.
+	 */
+	long rejected() {
+		return this.rejected.sum();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("petclinic.requests.rejected", this.rejected, LongAdder::sum)
+			.description("Requests rejected because no database connection became available in time")
+			.register(registry);
+	}
+
+}
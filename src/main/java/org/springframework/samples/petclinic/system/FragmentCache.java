@@ -0,0 +1,112 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import org.hibernate.Hibernate;
+import org.jspecify.annotations.Nullable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.samples.petclinic.model.BaseEntity;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnitUtil;
+
+/**
+ * Keeps rendered template fragments in the "fragments" cache, see
+ * {@link FragmentCacheDialect}. A fragment is cached for the entity or the collection of
+ * entities it displays: its key includes the id and the version of each of these
+ * entities, so a fragment is rendered again once one of them was saved and the fragments
+ * rendered before are no longer looked up and are eventually evicted. The entities have
+ * to have a version attribute that is incremented whenever anything the fragment displays
+ * changed.
+ */
+public class FragmentCache {
+
+	static final String CACHE_NAME = "fragments";
+
+	private final Cache cache;
+
+	private final PersistenceUnitUtil persistenceUnitUtil;
+
+	FragmentCache(CacheManager cacheManager, EntityManagerFactory entityManagerFactory) {
+		this.cache = Objects.requireNonNull(cacheManager.getCache(CACHE_NAME), "No cache named " + CACHE_NAME);
+		this.persistenceUnitUtil = entityManagerFactory.getPersistenceUnitUtil();
+	}
+
+	/**
+	 * Return the fragment cached for the given key, rendering and caching it if there is
+	 * none.
+	 * @param key the key of the fragment
+	 * @param renderer renders the fragment
+	 * @return the rendered fragment
+	 */
+	String get(Key key, Supplier<String> renderer) {
+		String fragment = this.cache.get(key, String.class);
+		if (fragment == null) {
+			fragment = renderer.get();
+			this.cache.put(key, fragment);
+		}
+		return fragment;
+	}
+
+	/**
+	 * Return the key of a fragment displaying the given value.
+	 * @param template the name of the template declaring the fragment
+	 * @param line the line of the fragment in the template
+	 * @param col the column of the fragment in the template
+	 * @param locale the locale the fragment is rendered in
+	 * @param value a versioned entity, a collection of versioned entities or any other
+	 * value whose string representation identifies the content of the fragment
+	 * @return the key
+	 */
+	Key key(String template, int line, int col, Locale locale, @Nullable Object value) {
+		if (value instanceof BaseEntity entity) {
+			return new Key(template, line, col, locale, scope(entity));
+		}
+		if (value instanceof Collection<?> values && values.stream().allMatch(BaseEntity.class::isInstance)) {
+			StringBuilder scope = new StringBuilder();
+			for (Object element : values) {
+				scope.append(scope((BaseEntity) element)).append(',');
+			}
+			return new Key(template, line, col, locale, scope.toString());
+		}
+		return new Key(template, line, col, locale, String.valueOf(value));
+	}
+
+	private String scope(BaseEntity entity) {
+		return Hibernate.getClass(entity).getSimpleName() + '#' + entity.getId() + '@'
+				+ this.persistenceUnitUtil.getVersion(entity);
+	}
+
+	/**
+	 * The key of a cached fragment.
+	 *
+	 * @param template the name of the template declaring the fragment
+	 * @param line the line of the fragment in the template
+	 * @param col the column of the fragment in the template
+	 * @param locale the locale the fragment was rendered in
+	 * @param scope the type, id and version of the entities displayed by the fragment
+	 */
+	record Key(String template, int line, int col, Locale locale, String scope) {
+
+	}
+
+}
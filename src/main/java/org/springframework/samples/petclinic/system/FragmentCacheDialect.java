@@ -0,0 +1,118 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.Set;
+
+import org.thymeleaf.context.ITemplateContext;
+import org.thymeleaf.dialect.AbstractProcessorDialect;
+import org.thymeleaf.engine.AttributeName;
+import org.thymeleaf.engine.TemplateManager;
+import org.thymeleaf.engine.TemplateModel;
+import org.thymeleaf.inline.NoOpInliner;
+import org.thymeleaf.model.IModel;
+import org.thymeleaf.model.IProcessableElementTag;
+import org.thymeleaf.processor.IProcessor;
+import org.thymeleaf.processor.element.AbstractAttributeModelProcessor;
+import org.thymeleaf.processor.element.IElementModelStructureHandler;
+import org.thymeleaf.standard.StandardDialect;
+import org.thymeleaf.standard.expression.StandardExpressions;
+import org.thymeleaf.templatemode.TemplateMode;
+
+/**
+ * Thymeleaf dialect adding the <code>pc:cache</code> attribute, which caches the markup
+ * rendered for an element and its body in the {@link FragmentCache}:
+ *
+ * <pre class="code">
+ * &lt;table pc:cache="${owner}"&gt;...&lt;/table&gt;
+ * </pre>
+ *
+ * The attribute value is an expression evaluating to the entity, or collection of
+ * entities, that the element displays. The fragment is cached per template, position in
+ * the template, locale and id and version of the entities, and is rendered again once one
+ * of the entities was saved. Everything the fragment displays has to be derived from
+ * these entities and the locale.
+ */
+class FragmentCacheDialect extends AbstractProcessorDialect {
+
+	static final String PREFIX = "pc";
+
+	private final FragmentCache cache;
+
+	FragmentCacheDialect(FragmentCache cache) {
+		// run before the standard dialect, so a cached element is not processed at all
+		super("Petclinic Fragment Cache", PREFIX, StandardDialect.PROCESSOR_PRECEDENCE - 1);
+		this.cache = cache;
+	}
+
+	@Override
+	public Set<IProcessor> getProcessors(String dialectPrefix) {
+		return Set.of(new CacheAttributeProcessor(dialectPrefix, this.cache));
+	}
+
+	private static final class CacheAttributeProcessor extends AbstractAttributeModelProcessor {
+
+		private static final String ATTRIBUTE_NAME = "cache";
+
+		private final FragmentCache cache;
+
+		private CacheAttributeProcessor(String dialectPrefix, FragmentCache cache) {
+			super(TemplateMode.HTML, dialectPrefix, null, false, ATTRIBUTE_NAME, true, 0, false);
+			this.cache = cache;
+		}
+
+		@Override
+		protected void doProcess(ITemplateContext context, IModel model, AttributeName attributeName,
+				String attributeValue, IElementModelStructureHandler structureHandler) {
+			Object value = StandardExpressions.getExpressionParser(context.getConfiguration())
+				.parseExpression(context, attributeValue)
+				.execute(context);
+			IProcessableElementTag tag = (IProcessableElementTag) model.get(0);
+			FragmentCache.Key key = this.cache.key(context.getTemplateData().getTemplate(), tag.getLine(), tag.getCol(),
+					context.getLocale(), value);
+			String fragment = this.cache.get(key, () -> render(context, model, attributeName));
+			model.reset();
+			model.add(context.getModelFactory().createText(fragment));
+			// the fragment is output as is, even if the rendered data looks like an
+			// inlined expression
+			structureHandler.setInliner(NoOpInliner.INSTANCE);
+		}
+
+		private static String render(ITemplateContext context, IModel model, AttributeName attributeName) {
+			IModel element = model.cloneModel();
+			IProcessableElementTag tag = (IProcessableElementTag) element.get(0);
+			element.replace(0, context.getModelFactory().removeAttribute(tag, attributeName));
+			StringWriter markup = new StringWriter();
+			try {
+				element.write(markup);
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+			TemplateManager templateManager = context.getConfiguration().getTemplateManager();
+			TemplateModel template = templateManager.parseString(context.getTemplateData(), markup.toString(),
+					tag.getLine(), tag.getCol(), context.getTemplateMode(), false);
+			StringWriter fragment = new StringWriter();
+			templateManager.process(template, context, fragment);
+			return fragment.toString();
+		}
+
+	}
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.cache.metrics.CacheMetricsRegistrar;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.samples.petclinic.PetClinicApplication;
+
+/**
+ * Configuration for <code>spring.main.lazy-initialization=true</code>, as set by the
+ * <code>fast-start</code> profile. The beans of the application itself stay eager, so
+ * they and everything they depend on are ready before the first request, and the indexes
+ * built on {@code ApplicationReadyEvent} are built at startup. Only the beans no request
+ * depends on, such as most actuator endpoints and metrics, are created on first use.
+ */
+@Configuration(proxyBeanMethods = false)
+class LazyInitializationConfiguration {
+
+	private static final String APPLICATION_PACKAGE = PetClinicApplication.class.getPackageName() + ".";
+
+	@Bean
+	static LazyInitializationExcludeFilter applicationBeansExcludeFilter() {
+		return (beanName, beanDefinition, beanType) -> beanType.getName().startsWith(APPLICATION_PACKAGE);
+	}
+
+	/**
+	 * The caches are bound to the meter registry when the registrar is created, which
+	 * nothing else asks for.
+	 */
+	@Bean
+	static LazyInitializationExcludeFilter cacheMetricsExcludeFilter() {
+		return LazyInitializationExcludeFilter.forBeanTypes(CacheMetricsRegistrar.class);
+	}
+
+}
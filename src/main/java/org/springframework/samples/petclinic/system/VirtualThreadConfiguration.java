@@ -0,0 +1,48 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration applied when requests are served on virtual threads, i.e. with
+ * <code>spring.threads.virtual.enabled=true</code> on Java 21 or later. Virtual threads
+ * are not pooled, so nothing but the connection pool limits how many requests hit the
+ * database at the same time: requests wait for a connection at most for the connection
+ * timeout of the pool and are then answered by the
+ * {@link ConnectionUnavailableExceptionResolver}. {@link VirtualThreadPinningMetrics}
+ * reports the virtual threads that block their carrier thread.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+@EnableConfigurationProperties(VirtualThreadProperties.class)
+class VirtualThreadConfiguration {
+
+	@Bean
+	public ConnectionUnavailableExceptionResolver connectionUnavailableExceptionResolver() {
+		return new ConnectionUnavailableExceptionResolver();
+	}
+
+	@Bean
+	public VirtualThreadPinningMetrics virtualThreadPinningMetrics(VirtualThreadProperties properties) {
+		return new VirtualThreadPinningMetrics(properties.pinnedThreshold());
+	}
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jdk.jfr.consumer.RecordingStream;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Records the <code>jdk.VirtualThreadPinned</code> JFR events, emitted whenever a virtual
+ * thread blocks while pinned to its carrier thread for longer than the threshold, as the
+ * <code>jvm.threads.virtual.pinned</code> timer. A pinned virtual thread keeps its
+ * carrier from running other virtual threads, e.g. while waiting for a connection inside
+ * a <code>synchronized</code> block on Java versions before 24.
+ */
+class VirtualThreadPinningMetrics implements MeterBinder, DisposableBean {
+
+	static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+	private final Duration threshold;
+
+	private final List<Timer> timers = new CopyOnWriteArrayList<>();
+
+	private @Nullable RecordingStream recording;
+
+	VirtualThreadPinningMetrics(Duration threshold) {
+		this.threshold = threshold;
+	}
+
+	@Override
+	public synchronized void bindTo(MeterRegistry registry) {
+		this.timers.add(Timer.builder("jvm.threads.virtual.pinned")
+			.description("Time virtual threads were pinned to their carrier thread while blocked")
+			.register(registry));
+		if (this.recording == null) {
+			RecordingStream recording = new RecordingStream();
+			recording.enable(PINNED_EVENT).withThreshold(this.threshold);
+			recording.onEvent(PINNED_EVENT, event -> this.timers.forEach(timer -> timer.record(event.getDuration())));
+			recording.startAsync();
+			this.recording = recording;
+		}
+	}
+
+	@Override
+	public synchronized void destroy() {
+		if (this.recording != null) {
+			this.recording.close();
+			this.recording = null;
+		}
+	}
+
+}
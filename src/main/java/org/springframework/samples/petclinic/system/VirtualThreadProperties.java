@@ -0,0 +1,33 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the pinning metrics used when requests are served on virtual threads,
+ * bound from <code>petclinic.virtual-threads.*</code>.
+ *
+ * @param pinnedThreshold the minimum time a virtual thread has to be pinned to its
+ * carrier thread to be recorded
+ */
+@ConfigurationProperties("petclinic.virtual-threads")
+public record VirtualThreadProperties(@DefaultValue("20ms") Duration pinnedThreshold) {
+
+}
@@ -17,6 +17,9 @@ package org.springframework.samples.petclinic.vet;
 
 import org.springframework.samples.petclinic.model.NamedEntity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 
@@ -27,6 +30,7 @@ import jakarta.persistence.Table;
  */
 @Entity
 @Table(name = "specialties")
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "specialty")
 public class Specialty extends NamedEntity {
 
 }
@@ -19,17 +19,21 @@ import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.springframework.samples.petclinic.model.NamedEntity;
 import org.springframework.samples.petclinic.model.Person;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.PostLoad;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.xml.bind.annotation.XmlElement;
 import org.jspecify.annotations.Nullable;
 
@@ -43,13 +47,26 @@ import org.jspecify.annotations.Nullable;
  */
 @Entity
 @Table(name = "vets")
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "vet")
 public class Vet extends Person {
 
 	@ManyToMany(fetch = FetchType.EAGER)
+	@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "vetSpecialties")
 	@JoinTable(name = "vet_specialties", joinColumns = @JoinColumn(name = "vet_id"),
 			inverseJoinColumns = @JoinColumn(name = "specialty_id"))
 	private @Nullable Set<Specialty> specialties;
 
+	// sorted by name, computed on first access and dropped whenever the specialties
+	// change
+	private transient @Nullable List<Specialty> sortedSpecialties;
+
+	/**
+	 * The version of the vet. Saving the vet increments it, including when only its
+	 * specialties changed.
+	 */
+	@Version
+	private @Nullable Integer version;
+
 	protected Set<Specialty> getSpecialtiesInternal() {
 		if (this.specialties == null) {
 			this.specialties = new HashSet<>();
@@ -57,11 +74,27 @@ public class Vet extends Person {
 		return this.specialties;
 	}
 
+	/**
+	 * Return the specialties sorted by name. The sorted list is unmodifiable and shared
+	 * by all calls until a specialty is added or the vet is reloaded, so rendering a
+	 * cached vet does not allocate.
+	 */
 	@XmlElement
 	public List<Specialty> getSpecialties() {
-		return getSpecialtiesInternal().stream()
-			.sorted(Comparator.comparing(NamedEntity::getName))
-			.collect(Collectors.toList());
+		List<Specialty> sorted = this.sortedSpecialties;
+		if (sorted == null) {
+			sorted = getSpecialtiesInternal().stream().sorted(Comparator.comparing(NamedEntity::getName)).toList();
+			this.sortedSpecialties = sorted;
+		}
+		return sorted;
+	}
+
+	public @Nullable Integer getVersion() {
+		return this.version;
+	}
+
+	public void setVersion(@Nullable Integer version) {
+		this.version = version;
 	}
 
 	public int getNrOfSpecialties() {
@@ -70,6 +103,12 @@ public class Vet extends Person {
 
 	public void addSpecialty(Specialty specialty) {
 		getSpecialtiesInternal().add(specialty);
+		this.sortedSpecialties = null;
+	}
+
+	@PostLoad
+	void clearSortedSpecialties() {
+		this.sortedSpecialties = null;
 	}
 
 }
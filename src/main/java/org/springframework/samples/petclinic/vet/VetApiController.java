@@ -0,0 +1,53 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.vet;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.samples.petclinic.system.ApiExecutor;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+/**
+ * Read API for integration clients, see the owner API for how requests are handled
+ * asynchronously. The vets are served from the same pre-serialized JSON as the
+ * <code>/vets</code> resource, so only a cache miss reaches the database.
+ */
+@Controller
+class VetApiController {
+
+	private final VetsRepresentations representations;
+
+	private final ApiExecutor executor;
+
+	VetApiController(VetsRepresentations representations, ApiExecutor executor) {
+		this.representations = representations;
+		this.executor = executor;
+	}
+
+	@GetMapping(value = "/api/vets", produces = MediaType.APPLICATION_JSON_VALUE)
+	public WebAsyncTask<ResponseEntity<byte[]>> findVets() {
+		return this.executor.task(() -> {
+			VetsRepresentations.Representation representation = this.representations.get(MediaType.APPLICATION_JSON);
+			return ResponseEntity.ok()
+				.eTag(representation.eTag())
+				.contentType(representation.contentType())
+				.body(representation.body());
+		});
+	}
+
+}
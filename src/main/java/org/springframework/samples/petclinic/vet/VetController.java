@@ -17,14 +17,21 @@ package org.springframework.samples.petclinic.vet;
 
 import java.util.List;
 
+import org.jspecify.annotations.Nullable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.NativeWebRequest;
 
 /**
  * @author Juergen Hoeller
@@ -37,8 +44,15 @@ class VetController {
 
 	private final VetRepository vetRepository;
 
-	public VetController(VetRepository vetRepository) {
+	private final VetsRepresentations representations;
+
+	private final ContentNegotiationManager contentNegotiationManager;
+
+	public VetController(VetRepository vetRepository, VetsRepresentations representations,
+			ContentNegotiationManager contentNegotiationManager) {
 		this.vetRepository = vetRepository;
+		this.representations = representations;
+		this.contentNegotiationManager = contentNegotiationManager;
 	}
 
 	@GetMapping("/vets.html")
@@ -67,12 +81,32 @@ class VetController {
 	}
 
 	@GetMapping({ "/vets" })
-	public @ResponseBody Vets showResourcesVetList() {
-		// Here we are returning an object of type 'Vets' rather than a collection of Vet
-		// objects so it is simpler for JSon/Object mapping
-		Vets vets = new Vets();
-		vets.getVetList().addAll(this.vetRepository.findAll());
-		return vets;
+	public ResponseEntity<byte[]> showResourcesVetList(NativeWebRequest request)
+			throws HttpMediaTypeNotAcceptableException {
+		// The 'Vets' wrapper is serialized once per representation and kept along with
+		// its ETag, a matching If-None-Match is answered with 304 by the framework
+		MediaType mediaType = selectMediaType(request);
+		if (mediaType == null) {
+			return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+		}
+		VetsRepresentations.Representation representation = this.representations.get(mediaType);
+		return ResponseEntity.ok()
+			.eTag(representation.eTag())
+			.varyBy(HttpHeaders.ACCEPT)
+			.contentType(representation.contentType())
+			.body(representation.body());
+	}
+
+	private @Nullable MediaType selectMediaType(NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+		// the requested media types come sorted by quality and specificity
+		for (MediaType requested : this.contentNegotiationManager.resolveMediaTypes(request)) {
+			for (MediaType supported : VetsRepresentations.SUPPORTED_MEDIA_TYPES) {
+				if (requested.isCompatibleWith(supported)) {
+					return supported;
+				}
+			}
+		}
+		return null;
 	}
 
 }
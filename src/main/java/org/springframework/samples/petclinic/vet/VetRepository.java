@@ -15,6 +15,7 @@
  */
 package org.springframework.samples.petclinic.vet;
 
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
@@ -52,7 +53,17 @@ public interface VetRepository extends Repository<Vet, Integer> {
 	 * @throws DataAccessException
 	 */
 	@Transactional(readOnly = true)
-	@Cacheable("vets")
+	@Cacheable("vetPages")
 	Page<Vet> findAll(Pageable pageable) throws DataAccessException;
 
+	/**
+	 * Save a <code>Vet</code> to the data store and evict the cached vets, which also
+	 * invalidates the serialized <code>/vets</code> representations.
+	 * @param vet the <code>Vet</code> to save
+	 * @return the saved <code>Vet</code>
+	 */
+	@Transactional
+	@CacheEvict(cacheNames = { "vets", "vetPages" }, allEntries = true)
+	Vet save(Vet vet) throws DataAccessException;
+
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.vet;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.http.converter.autoconfigure.HttpMessageConverters;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Keeps the serialized JSON and XML representations of the {@link Vets} resource together
+ * with a strong ETag per representation, so that polling clients are served from
+ * pre-serialized bytes and revalidations can be answered without serializing.
+ * <p>
+ * The representations are derived from the collection returned by
+ * {@link VetRepository#findAll()}, which is served from the "vets" cache. They are
+ * dropped as soon as that cache hands out a different collection, i.e. once the cached
+ * vet data expired or was evicted.
+ */
+@Component
+class VetsRepresentations {
+
+	static final List<MediaType> SUPPORTED_MEDIA_TYPES = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML);
+
+	private final VetRepository vetRepository;
+
+	private final List<HttpMessageConverter<?>> converters;
+
+	private volatile @Nullable Snapshot snapshot;
+
+	VetsRepresentations(VetRepository vetRepository, HttpMessageConverters converters) {
+		this.vetRepository = vetRepository;
+		this.converters = converters.getConverters();
+	}
+
+	/**
+	 * Return the representation of the current vets in the given media type.
+	 * @param mediaType one of the {@link #SUPPORTED_MEDIA_TYPES}
+	 * @return the serialized representation
+	 */
+	Representation get(MediaType mediaType) {
+		Collection<Vet> current = this.vetRepository.findAll();
+		Snapshot snapshot = this.snapshot;
+		if (snapshot == null || snapshot.source() != current) {
+			snapshot = new Snapshot(current, new ConcurrentHashMap<>());
+			this.snapshot = snapshot;
+		}
+		return snapshot.representations().computeIfAbsent(mediaType, type -> serialize(current, type));
+	}
+
+	@SuppressWarnings("unchecked")
+	private Representation serialize(Collection<Vet> source, MediaType mediaType) {
+		Vets vets = new Vets();
+		vets.getVetList().addAll(source);
+		for (HttpMessageConverter<?> converter : this.converters) {
+			if (converter.canWrite(Vets.class, mediaType)) {
+				BufferedOutputMessage message = new BufferedOutputMessage();
+				try {
+					((HttpMessageConverter<Object>) converter).write(vets, mediaType, message);
+				}
+				catch (IOException ex) {
+					throw new UncheckedIOException(ex);
+				}
+				byte[] body = message.body.toByteArray();
+				MediaType contentType = message.headers.getContentType();
+				return new Representation((contentType != null) ? contentType : mediaType, body,
+						"\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+			}
+		}
+		throw new IllegalStateException("No converter for " + mediaType);
+	}
+
+	/**
+	 * A serialized representation of the vets.
+	 *
+	 * @param contentType the content type written by the converter
+	 * @param body the serialized vets
+	 * @param eTag the strong ETag of the body
+	 */
+	record Representation(MediaType contentType, byte[] body, String eTag) {
+
+	}
+
+	private record Snapshot(Collection<Vet> source, Map<MediaType, Representation> representations) {
+
+	}
+
+	private static final class BufferedOutputMessage implements HttpOutputMessage {
+
+		private final HttpHeaders headers = new HttpHeaders();
+
+		private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+		@Override
+		public OutputStream getBody() {
+			return this.body;
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return this.headers;
+		}
+
+	}
+
+}
@@ -10,7 +10,8 @@ DROP TABLE owners IF EXISTS;
 CREATE TABLE vets (
   id         INTEGER IDENTITY PRIMARY KEY,
   first_name VARCHAR(30),
-  last_name  VARCHAR(30)
+  last_name  VARCHAR(30),
+  version    INTEGER DEFAULT 0 NOT NULL
 );
 CREATE INDEX vets_last_name ON vets (last_name);
 
@@ -39,20 +40,23 @@ CREATE TABLE owners (
   last_name  VARCHAR_IGNORECASE(30),
   address    VARCHAR(255),
   city       VARCHAR(80),
-  telephone  VARCHAR(20)
+  telephone  VARCHAR(20),
+  version    INTEGER DEFAULT 0 NOT NULL
 );
 CREATE INDEX owners_last_name ON owners (last_name);
 
 CREATE TABLE pets (
   id         INTEGER IDENTITY PRIMARY KEY,
-  name       VARCHAR(30),
+  name       VARCHAR_IGNORECASE(30),
   birth_date DATE,
   type_id    INTEGER NOT NULL,
-  owner_id   INTEGER
+  owner_id   INTEGER,
+  version    INTEGER DEFAULT 0 NOT NULL
 );
 ALTER TABLE pets ADD CONSTRAINT fk_pets_owners FOREIGN KEY (owner_id) REFERENCES owners (id);
 ALTER TABLE pets ADD CONSTRAINT fk_pets_types FOREIGN KEY (type_id) REFERENCES types (id);
 CREATE INDEX pets_name ON pets (name);
+CREATE UNIQUE INDEX pets_owner_id_name ON pets (owner_id, name);
 
 CREATE TABLE visits (
   id          INTEGER IDENTITY PRIMARY KEY,
@@ -61,4 +65,4 @@ CREATE TABLE visits (
   description VARCHAR(255)
 );
 ALTER TABLE visits ADD CONSTRAINT fk_visits_pets FOREIGN KEY (pet_id) REFERENCES pets (id);
-CREATE INDEX visits_pet_id ON visits (pet_id);
+CREATE INDEX visits_pet_id ON visits (pet_id, visit_date);
@@ -2,6 +2,7 @@ CREATE TABLE IF NOT EXISTS vets (
   id INT(4) UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY,
   first_name VARCHAR(30),
   last_name VARCHAR(30),
+  version INT(4) UNSIGNED NOT NULL DEFAULT 0,
   INDEX(last_name)
 ) engine=InnoDB;
 
@@ -28,20 +29,23 @@ CREATE TABLE IF NOT EXISTS types (
 CREATE TABLE IF NOT EXISTS owners (
   id INT(4) UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY,
   first_name VARCHAR(30),
-  last_name VARCHAR(30),
+  last_name VARCHAR(30) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_as_ci,
   address VARCHAR(255),
   city VARCHAR(80),
   telephone VARCHAR(20),
-  INDEX(last_name)
+  version INT(4) UNSIGNED NOT NULL DEFAULT 0,
+  INDEX owners_last_name (last_name, first_name, address, city, telephone)
 ) engine=InnoDB;
 
 CREATE TABLE IF NOT EXISTS pets (
   id INT(4) UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY,
-  name VARCHAR(30),
+  name VARCHAR(30) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_as_ci,
   birth_date DATE,
   type_id INT(4) UNSIGNED NOT NULL,
   owner_id INT(4) UNSIGNED,
+  version INT(4) UNSIGNED NOT NULL DEFAULT 0,
   INDEX(name),
+  UNIQUE INDEX pets_owner_id_name (owner_id, name),
   FOREIGN KEY (owner_id) REFERENCES owners(id),
   FOREIGN KEY (type_id) REFERENCES types(id)
 ) engine=InnoDB;
@@ -51,5 +55,6 @@ CREATE TABLE IF NOT EXISTS visits (
   pet_id INT(4) UNSIGNED,
   visit_date DATE,
   description VARCHAR(255),
+  INDEX visits_pet_id (pet_id, visit_date),
   FOREIGN KEY (pet_id) REFERENCES pets(id)
 ) engine=InnoDB;
@@ -1,7 +1,8 @@
 CREATE TABLE IF NOT EXISTS vets (
   id         INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
   first_name TEXT,
-  last_name  TEXT
+  last_name  TEXT,
+  version    INT NOT NULL DEFAULT 0
 );
 CREATE INDEX ON vets (last_name);
 
@@ -29,19 +30,24 @@ CREATE TABLE IF NOT EXISTS owners (
   last_name  TEXT,
   address    TEXT,
   city       TEXT,
-  telephone  TEXT
+  telephone  TEXT,
+  version    INT NOT NULL DEFAULT 0
 );
 CREATE INDEX ON owners (last_name);
+CREATE INDEX IF NOT EXISTS owners_last_name_folded ON owners (lower(last_name) COLLATE "C")
+  INCLUDE (last_name, first_name, address, city, telephone);
 
 CREATE TABLE IF NOT EXISTS pets (
   id         INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
   name       TEXT,
   birth_date DATE,
   type_id    INT NOT NULL REFERENCES types (id),
-  owner_id   INT REFERENCES owners (id)
+  owner_id   INT REFERENCES owners (id),
+  version    INT NOT NULL DEFAULT 0
 );
 CREATE INDEX ON pets (name);
 CREATE INDEX ON pets (owner_id);
+CREATE UNIQUE INDEX IF NOT EXISTS pets_owner_id_name_folded ON pets (owner_id, (lower(name) COLLATE "C"));
 
 CREATE TABLE IF NOT EXISTS visits (
   id          INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
@@ -49,4 +55,4 @@ CREATE TABLE IF NOT EXISTS visits (
   visit_date  DATE,
   description TEXT
 );
-CREATE INDEX ON visits (pet_id);
+CREATE INDEX ON visits (pet_id, visit_date);
@@ -18,6 +18,8 @@ package org.springframework.samples.petclinic;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,9 +28,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
 import org.springframework.boot.web.server.test.LocalServerPort;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.RequestEntity;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.samples.petclinic.owner.OwnerRepository;
+import org.springframework.samples.petclinic.owner.OwnerSearchPlans;
 import org.springframework.samples.petclinic.vet.VetRepository;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.aot.DisabledInAotMode;
@@ -42,6 +48,7 @@ import org.testcontainers.utility.DockerImageName;
 @ActiveProfiles("mysql")
 @Testcontainers(disabledWithoutDocker = true)
 @DisabledInNativeImage
+@Import(OwnerSearchPlans.Config.class)
 @DisabledInAotMode
 class MySqlIntegrationTests {
 
@@ -58,6 +65,15 @@ class MySqlIntegrationTests {
 	@Autowired
 	private RestTemplateBuilder builder;
 
+	@Autowired
+	private OwnerRepository owners;
+
+	@Autowired
+	private OwnerSearchPlans plans;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
 	@Test
 	void testFindAll() {
 		vets.findAll();
@@ -71,4 +87,10 @@ class MySqlIntegrationTests {
 		assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
 	}
 
+	@Test
+	void testOwnerSearchUsesLastNameIndex() {
+		List<String> explained = plans.explain(owners, jdbcTemplate, "EXPLAIN FORMAT=TREE", "dav");
+		assertThat(explained).hasSize(6).allSatisfy(plan -> assertThat(plan).contains("owners_last_name"));
+	}
+
 }
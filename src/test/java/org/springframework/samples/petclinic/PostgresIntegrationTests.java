@@ -37,12 +37,16 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
 import org.springframework.boot.web.server.test.LocalServerPort;
 import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Import;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.EnumerablePropertySource;
 import org.springframework.core.env.PropertySource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.RequestEntity;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.samples.petclinic.owner.OwnerRepository;
+import org.springframework.samples.petclinic.owner.OwnerSearchPlans;
 import org.springframework.samples.petclinic.vet.VetRepository;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.web.client.RestTemplate;
@@ -52,6 +56,7 @@ import org.testcontainers.DockerClientFactory;
 		"spring.docker.compose.start.arguments=--force-recreate,--renew-anon-volumes,postgres" })
 @ActiveProfiles("postgres")
 @DisabledInNativeImage
+@Import(OwnerSearchPlans.Config.class)
 public class PostgresIntegrationTests {
 
 	@LocalServerPort
@@ -63,6 +68,15 @@ public class PostgresIntegrationTests {
 	@Autowired
 	private RestTemplateBuilder builder;
 
+	@Autowired
+	private OwnerRepository owners;
+
+	@Autowired
+	private OwnerSearchPlans plans;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
 	@BeforeAll
 	static void available() {
 		assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker not available");
@@ -91,6 +105,13 @@ public class PostgresIntegrationTests {
 		assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
 	}
 
+	@Test
+	void testOwnerSearchUsesLastNameIndex() {
+		// the sample data is small enough for a sequential scan to win otherwise
+		List<String> explained = plans.explain(owners, jdbcTemplate, "EXPLAIN", "dav", "SET enable_seqscan = off");
+		assertThat(explained).hasSize(6).allSatisfy(plan -> assertThat(plan).contains("owners_last_name_folded"));
+	}
+
 	static class PropertiesLogger implements ApplicationListener<ApplicationPreparedEvent> {
 
 		private static final Log log = LogFactory.getLog(PropertiesLogger.class);
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.samples.petclinic.owner.LastNameTrie.Suggestion;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration test of {@link LastNameSuggestions} against the sample data.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Import(LastNameSuggestions.class)
+class LastNameSuggestionsTests {
+
+	@Autowired
+	private LastNameSuggestions suggestions;
+
+	@Autowired
+	private OwnerRepository owners;
+
+	@Test
+	void shouldBeSeededOnStartup() {
+		assertThat(this.suggestions.suggest("d", 10)).containsExactly(new Suggestion("Davis", 2));
+		assertThat(this.suggestions.suggest("es", 10)).containsExactly(new Suggestion("Escobito", 1),
+				new Suggestion("Estaban", 1));
+	}
+
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	void shouldCountLastNamesWhenOwnersAreSaved() {
+		Owner owner = new Owner();
+		owner.setFirstName("Sam");
+		owner.setLastName("Schultz");
+		owner.setAddress("4, Evans Street");
+		owner.setCity("Wollongong");
+		owner.setTelephone("4444444444");
+		this.owners.save(owner);
+		this.suggestions.awaitUpdates();
+		assertThat(this.suggestions.suggest("sch", 10)).containsExactly(new Suggestion("Schroeder", 1),
+				new Suggestion("Schultz", 1));
+
+		owner.setLastName("Schroeder");
+		this.owners.save(owner);
+		this.suggestions.awaitUpdates();
+		assertThat(this.suggestions.suggest("sch", 10)).containsExactly(new Suggestion("Schroeder", 2));
+	}
+
+	@Test
+	void shouldReportTrieMetrics() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		this.suggestions.bindTo(registry);
+
+		assertThat(registry.get("petclinic.owners.last-names").gauge().value()).isGreaterThanOrEqualTo(9);
+		assertThat(registry.get("petclinic.owners.last-names.trie.nodes").gauge().value()).isGreaterThanOrEqualTo(9);
+		assertThat(registry.get("petclinic.owners.last-names.trie.memory").gauge().value()).isPositive();
+	}
+
+}
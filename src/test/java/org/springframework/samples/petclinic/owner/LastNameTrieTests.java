@@ -0,0 +1,99 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.samples.petclinic.owner.LastNameTrie.Suggestion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for {@link LastNameTrie}.
+ */
+class LastNameTrieTests {
+
+	private static LastNameTrie trie(String... lastNames) {
+		LastNameTrie trie = new LastNameTrie();
+		for (String lastName : lastNames) {
+			trie.add(lastName);
+		}
+		return trie;
+	}
+
+	@Test
+	void shouldSuggestMostFrequentLastNamesFirst() {
+		LastNameTrie trie = trie("Davis", "Franklin", "Davis", "Davidson", "dAVIS", "Dave", "Black");
+
+		assertThat(trie.size()).isEqualTo(5);
+		assertThat(trie.suggest("da", 10)).containsExactly(new Suggestion("Davis", 3), new Suggestion("Dave", 1),
+				new Suggestion("Davidson", 1));
+		assertThat(trie.suggest("DAVI", 1)).containsExactly(new Suggestion("Davis", 3));
+		assertThat(trie.suggest("davisson", 10)).isEmpty();
+		assertThat(trie.suggest("e", 10)).isEmpty();
+		assertThat(trie.suggest("", 2)).containsExactly(new Suggestion("Davis", 3), new Suggestion("Black", 1));
+	}
+
+	@Test
+	void shouldRankByCountsUpdatedOnRemoval() {
+		LastNameTrie trie = trie("Adams", "Baker", "Baker", "Baker", "Bates", "Bates", "Abbott", "Abbott");
+		assertThat(trie.suggest("", 2)).containsExactly(new Suggestion("Baker", 3), new Suggestion("Abbott", 2));
+
+		trie.remove("Baker");
+		trie.remove("Baker");
+		assertThat(trie.suggest("", 2)).containsExactly(new Suggestion("Abbott", 2), new Suggestion("Bates", 2));
+		assertThat(trie.suggest("b", 1)).containsExactly(new Suggestion("Bates", 2));
+
+		trie.remove("Abbott");
+		trie.remove("Bates");
+		assertThat(trie.suggest("", 3)).containsExactly(new Suggestion("Abbott", 1), new Suggestion("Adams", 1),
+				new Suggestion("Baker", 1));
+	}
+
+	@Test
+	void shouldCompressSingleChildChains() {
+		LastNameTrie trie = trie("Davidson");
+		assertThat(trie.nodeCount()).isEqualTo(1);
+
+		trie.add("Davis");
+		// "davi" with the children "dson" and "s"
+		assertThat(trie.nodeCount()).isEqualTo(3);
+		assertThat(trie.suggest("davids", 10)).containsExactly(new Suggestion("Davidson", 1));
+	}
+
+	@Test
+	void shouldForgetRemovedLastNamesAndMergeNodes() {
+		LastNameTrie trie = trie("Davis", "Davis", "Davidson", "Dave");
+		long memory = trie.estimateMemory();
+
+		trie.remove("davis");
+		assertThat(trie.suggest("dav", 10)).contains(new Suggestion("Davis", 1));
+
+		trie.remove("Davis");
+		trie.remove("Unknown");
+		assertThat(trie.size()).isEqualTo(2);
+		assertThat(trie.suggest("davi", 10)).containsExactly(new Suggestion("Davidson", 1));
+		// "dav" with the children "e" and "idson"
+		assertThat(trie.nodeCount()).isEqualTo(3);
+		assertThat(trie.estimateMemory()).isPositive().isLessThan(memory);
+
+		trie.remove("Dave");
+		trie.remove("Davidson");
+		assertThat(trie.size()).isZero();
+		assertThat(trie.nodeCount()).isZero();
+		assertThat(trie.suggest("", 10)).isEmpty();
+	}
+
+}
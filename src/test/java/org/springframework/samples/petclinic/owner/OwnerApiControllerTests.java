@@ -0,0 +1,87 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration test for the asynchronous owner read API of {@link OwnerApiController}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class OwnerApiControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JsonMapper jsonMapper;
+
+	private ResultActions performAsync(MockHttpServletRequestBuilder builder) throws Exception {
+		MvcResult result = this.mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+		return this.mockMvc.perform(asyncDispatch(result));
+	}
+
+	@Test
+	void shouldFindOwnerWithPetsAndVisits() throws Exception {
+		performAsync(get("/api/owners/6").accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk())
+			.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+			.andExpect(jsonPath("$.lastName").value("Coleman"))
+			.andExpect(jsonPath("$.pets.length()").value(2))
+			.andExpect(jsonPath("$.pets[1].visits.length()").value(2));
+	}
+
+	@Test
+	void shouldAnswerNotFoundForUnknownOwner() throws Exception {
+		performAsync(get("/api/owners/9999").accept(MediaType.APPLICATION_JSON)).andExpect(status().isNotFound());
+	}
+
+	@Test
+	void shouldStreamOneJsonDocumentPerMatchingOwner() throws Exception {
+		String body = performAsync(get("/api/owners").param("lastName", "Dav").accept(MediaType.APPLICATION_NDJSON))
+			.andExpect(status().isOk())
+			.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+			.andReturn()
+			.getResponse()
+			.getContentAsString();
+
+		List<JsonNode> owners = body.lines().map(this.jsonMapper::readTree).toList();
+		assertThat(owners).extracting(owner -> owner.get("firstName").asString()).containsExactly("Betty", "Harold");
+		assertThat(owners.get(0).get("petNames").asString()).isEqualTo("Basil");
+	}
+
+}
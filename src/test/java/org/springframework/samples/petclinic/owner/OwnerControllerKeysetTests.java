@@ -0,0 +1,138 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.owner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
+
+/**
+ * Test class for the keyset pagination mode of {@link OwnerController}
+ */
+@WebMvcTest(value = OwnerController.class, properties = "petclinic.owners.keyset-pagination=true")
+@DisabledInNativeImage
+@DisabledInAotMode
+class OwnerControllerKeysetTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private OwnerRepository owners;
+
+	@MockitoBean
+	private PetRepository pets;
+
+	@MockitoBean
+	private VisitRepository visits;
+
+	@MockitoBean
+	private LastNameSuggestions lastNameSuggestions;
+
+	private static OwnerSummary owner(int id, String lastName) {
+		return new OwnerSummary(id, "George", lastName, "110 W. Liberty St.", "Madison", "6085551023", "Max");
+	}
+
+	private static ScrollPosition positionAt(int index) {
+		return ScrollPosition.forward(Map.of("lastName", "Franklin", "id", index + 1));
+	}
+
+	@Test
+	void testProcessFindFormFirstWindow() throws Exception {
+		Window<OwnerSummary> window = Window.from(List.of(owner(1, "Franklin"), owner(2, "Franklin")),
+				OwnerControllerKeysetTests::positionAt, true);
+		given(this.owners.findSummariesByLastNameStartingWith(eq(""), any(KeysetScrollPosition.class), anyInt()))
+			.willReturn(window);
+
+		mockMvc.perform(get("/owners"))
+			.andExpect(status().isOk())
+			.andExpect(model().attribute("listOwners", hasSize(2)))
+			.andExpect(model().attribute("previousCursor", nullValue()))
+			.andExpect(model().attribute("nextCursor", notNullValue()))
+			.andExpect(view().name("owners/ownersList"));
+	}
+
+	@Test
+	void testProcessFindFormSingleOwnerRedirect() throws Exception {
+		Window<OwnerSummary> window = Window.from(List.of(owner(1, "Franklin")), OwnerControllerKeysetTests::positionAt,
+				false);
+		given(this.owners.findSummariesByLastNameStartingWith(eq("Franklin"), any(KeysetScrollPosition.class),
+				anyInt()))
+			.willReturn(window);
+
+		mockMvc.perform(get("/owners").param("lastName", "Franklin"))
+			.andExpect(status().is3xxRedirection())
+			.andExpect(view().name("redirect:/owners/1"));
+	}
+
+	@Test
+	void testProcessFindFormNoOwnersFound() throws Exception {
+		given(this.owners.findSummariesByLastNameStartingWith(eq("Unknown"), any(KeysetScrollPosition.class), anyInt()))
+			.willReturn(Window.from(List.of(), ScrollPosition::offset));
+
+		mockMvc.perform(get("/owners").param("lastName", "Unknown"))
+			.andExpect(status().isOk())
+			.andExpect(model().attributeHasFieldErrorCode("owner", "lastName", "notFound"))
+			.andExpect(view().name("owners/findOwners"));
+	}
+
+	@Test
+	void testProcessFindFormMalformedCursor() throws Exception {
+		mockMvc.perform(get("/owners").param("lastName", "").param("cursor", "garbage"))
+			.andExpect(status().isBadRequest());
+		String tampered = Base64.getUrlEncoder().encodeToString("f:one:Franklin".getBytes(StandardCharsets.UTF_8));
+		mockMvc.perform(get("/owners").param("cursor", tampered)).andExpect(status().isBadRequest());
+
+		then(this.owners).shouldHaveNoInteractions();
+	}
+
+	@Test
+	void testCursorRoundTrip() {
+		KeysetScrollPosition position = ScrollPosition.backward(Map.of("lastName", "O:Brien", "id", 42));
+		KeysetScrollPosition decoded = OwnerCursor.decode(OwnerCursor.encode(position));
+		assertThat(decoded.scrollsBackward()).isTrue();
+		assertThat(decoded.getKeys()).containsEntry("lastName", "O:Brien").containsEntry("id", 42);
+		assertThat(OwnerCursor.decode("").isInitial()).isTrue();
+	}
+
+}
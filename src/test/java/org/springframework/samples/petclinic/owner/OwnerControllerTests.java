@@ -21,9 +21,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -31,11 +34,12 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.empty;
-import static org.hamcrest.Matchers.greaterThan;
-import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
@@ -44,6 +48,10 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -68,6 +76,15 @@ class OwnerControllerTests {
 	@MockitoBean
 	private OwnerRepository owners;
 
+	@MockitoBean
+	private PetRepository pets;
+
+	@MockitoBean
+	private VisitRepository visits;
+
+	@MockitoBean
+	private LastNameSuggestions lastNameSuggestions;
+
 	private Owner george() {
 		Owner george = new Owner();
 		george.setId(TEST_OWNER_ID);
@@ -87,17 +104,25 @@ class OwnerControllerTests {
 		return george;
 	}
 
+	private OwnerSummary summary(Owner owner) {
+		return new OwnerSummary(owner.getId(), owner.getFirstName(), owner.getLastName(), owner.getAddress(),
+				owner.getCity(), owner.getTelephone(), "Max");
+	}
+
 	@BeforeEach
 	void setup() {
 
 		Owner george = george();
-		given(this.owners.findByLastNameStartingWith(eq("Franklin"), any(Pageable.class)))
-			.willReturn(new PageImpl<>(List.of(george)));
+		given(this.owners.findSummarySliceByLastNameStartingWith(eq("Franklin"), any(Pageable.class)))
+			.willReturn(new SliceImpl<>(List.of(summary(george)), PageRequest.of(0, 5), false));
 
 		given(this.owners.findById(TEST_OWNER_ID)).willReturn(Optional.of(george));
+		given(this.pets.findByOwnerIdOrderByName(TEST_OWNER_ID)).willReturn(george.getPets());
 		Visit visit = new Visit();
 		visit.setDate(LocalDate.now());
-		george.getPet("Max").getVisits().add(visit);
+		visit.setDescription("rabies shot");
+		given(this.visits.findFirstPageByPetIds(List.of(1), 5))
+			.willReturn(Map.of(1, new SliceImpl<>(List.of(visit), PageRequest.of(0, 5), true)));
 
 	}
 
@@ -141,24 +166,64 @@ class OwnerControllerTests {
 
 	@Test
 	void testProcessFindFormSuccess() throws Exception {
-		Page<Owner> tasks = new PageImpl<>(List.of(george(), new Owner()));
-		when(this.owners.findByLastNameStartingWith(anyString(), any(Pageable.class))).thenReturn(tasks);
-		mockMvc.perform(get("/owners?page=1")).andExpect(status().isOk()).andExpect(view().name("owners/ownersList"));
+		Owner other = george();
+		other.setId(2);
+		Slice<OwnerSummary> tasks = new SliceImpl<>(List.of(summary(george()), summary(other)), PageRequest.of(0, 5),
+				false);
+		when(this.owners.findSummarySliceByLastNameStartingWith(anyString(), any(Pageable.class))).thenReturn(tasks);
+		mockMvc.perform(get("/owners?page=1"))
+			.andExpect(status().isOk())
+			.andExpect(model().attribute("totalItems", 2L))
+			.andExpect(view().name("owners/ownersList"));
+		verify(this.owners, never()).countByLastNameStartingWith(anyString());
+	}
+
+	@Test
+	void testProcessFindFormCountsOnlyWhenMoreOwnersFollow() throws Exception {
+		Owner other = george();
+		other.setId(2);
+		Slice<OwnerSummary> tasks = new SliceImpl<>(List.of(summary(george()), summary(other)), PageRequest.of(1, 2),
+				true);
+		when(this.owners.findSummarySliceByLastNameStartingWith(anyString(), any(Pageable.class))).thenReturn(tasks);
+		given(this.owners.countByLastNameStartingWith("")).willReturn(7L);
+		mockMvc.perform(get("/owners?page=2"))
+			.andExpect(status().isOk())
+			.andExpect(model().attribute("totalItems", 7L))
+			.andExpect(model().attribute("totalPages", 4))
+			.andExpect(view().name("owners/ownersList"));
 	}
 
 	@Test
 	void testProcessFindFormByLastName() throws Exception {
-		Page<Owner> tasks = new PageImpl<>(List.of(george()));
-		when(this.owners.findByLastNameStartingWith(eq("Franklin"), any(Pageable.class))).thenReturn(tasks);
+		Slice<OwnerSummary> tasks = new SliceImpl<>(List.of(summary(george())), PageRequest.of(0, 5), false);
+		when(this.owners.findSummarySliceByLastNameStartingWith(eq("Franklin"), any(Pageable.class))).thenReturn(tasks);
 		mockMvc.perform(get("/owners?page=1").param("lastName", "Franklin"))
 			.andExpect(status().is3xxRedirection())
 			.andExpect(view().name("redirect:/owners/" + TEST_OWNER_ID));
+		verify(this.owners, never()).countByLastNameStartingWith(anyString());
+	}
+
+	@Test
+	void testSuggestLastNames() throws Exception {
+		given(this.lastNameSuggestions.suggest("Da", 10)).willReturn(List.of(new LastNameTrie.Suggestion("Davis", 2)));
+		mockMvc.perform(get("/owners/lastNames").param("prefix", "Da"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$[0].lastName").value("Davis"))
+			.andExpect(jsonPath("$[0].count").value(2));
+	}
+
+	@Test
+	void testSuggestLastNamesRejectsBlankPrefix() throws Exception {
+		mockMvc.perform(get("/owners/lastNames").param("prefix", " ")).andExpect(status().isBadRequest());
+		mockMvc.perform(get("/owners/lastNames")).andExpect(status().isBadRequest());
+		verifyNoInteractions(this.lastNameSuggestions);
 	}
 
 	@Test
 	void testProcessFindFormNoOwnersFound() throws Exception {
-		Page<Owner> tasks = new PageImpl<>(List.of());
-		when(this.owners.findByLastNameStartingWith(eq("Unknown Surname"), any(Pageable.class))).thenReturn(tasks);
+		Slice<OwnerSummary> tasks = new SliceImpl<>(List.of(), PageRequest.of(0, 5), false);
+		when(this.owners.findSummarySliceByLastNameStartingWith(eq("Unknown Surname"), any(Pageable.class)))
+			.thenReturn(tasks);
 		mockMvc.perform(get("/owners?page=1").param("lastName", "Unknown Surname"))
 			.andExpect(status().isOk())
 			.andExpect(model().attributeHasFieldErrors("owner", "lastName"))
@@ -222,12 +287,64 @@ class OwnerControllerTests {
 			.andExpect(model().attribute("owner", hasProperty("address", is("110 W. Liberty St."))))
 			.andExpect(model().attribute("owner", hasProperty("city", is("Madison"))))
 			.andExpect(model().attribute("owner", hasProperty("telephone", is("6085551023"))))
-			.andExpect(model().attribute("owner", hasProperty("pets", not(empty()))))
-			.andExpect(model().attribute("owner",
-					hasProperty("pets", hasItem(hasProperty("visits", hasSize(greaterThan(0)))))))
+			.andExpect(model().attribute("pets", not(empty())))
+			.andExpect(model().attribute("visits", hasEntry(is(1), hasProperty("content", hasSize(1)))))
+			.andExpect(content().string(containsString("rabies shot")))
+			.andExpect(content().string(containsString("/owners/1/pets/1/visits?page=2")))
 			.andExpect(view().name("owners/ownerDetails"));
 	}
 
+	@Test
+	void testShowOwnerAnswersNotModifiedForCurrentVersion() throws Exception {
+		Owner george = george();
+		george.setVersion(3);
+		given(this.owners.findById(TEST_OWNER_ID)).willReturn(Optional.of(george));
+
+		mockMvc.perform(get("/owners/{ownerId}", TEST_OWNER_ID))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, "W/\"3-en\""))
+			.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+		mockMvc.perform(get("/owners/{ownerId}", TEST_OWNER_ID).header(HttpHeaders.IF_NONE_MATCH, "W/\"3-en\""))
+			.andExpect(status().isNotModified());
+		mockMvc.perform(get("/owners/{ownerId}", TEST_OWNER_ID).header(HttpHeaders.IF_NONE_MATCH, "W/\"2-en\""))
+			.andExpect(status().isOk());
+
+		verify(this.pets, times(2)).findByOwnerIdOrderByName(TEST_OWNER_ID);
+	}
+
+	@Test
+	void testShowOwnerWithFlashMessageIsNotTagged() throws Exception {
+		Owner george = george();
+		george.setVersion(3);
+		given(this.owners.findById(TEST_OWNER_ID)).willReturn(Optional.of(george));
+
+		mockMvc
+			.perform(get("/owners/{ownerId}", TEST_OWNER_ID).header(HttpHeaders.IF_NONE_MATCH, "W/\"3-en\"")
+				.flashAttr("message", "Owner Values Updated"))
+			.andExpect(status().isOk())
+			.andExpect(header().doesNotExist(HttpHeaders.ETAG))
+			.andExpect(content().string(containsString("Owner Values Updated")));
+	}
+
+	@Test
+	void testProcessUpdateOwnerFormConflict() throws Exception {
+		given(this.owners.save(any(Owner.class)))
+			.willThrow(new ObjectOptimisticLockingFailureException(Owner.class, TEST_OWNER_ID));
+
+		mockMvc
+			.perform(post("/owners/{ownerId}/edit", TEST_OWNER_ID).param("firstName", "Joe")
+				.param("lastName", "Bloggs")
+				.param("address", "123 Caramel Street")
+				.param("city", "London")
+				.param("telephone", "1616291589")
+				.param("version", "2"))
+			.andExpect(status().isConflict())
+			.andExpect(model().attributeHasErrors("owner"))
+			.andExpect(model().attribute("owner", hasProperty("firstName", is("Joe"))))
+			.andExpect(content().string(containsString("changed by someone else")))
+			.andExpect(view().name("owners/createOrUpdateOwnerForm"));
+	}
+
 	@Test
 	public void testProcessUpdateOwnerFormWithIdMismatch() throws Exception {
 		int pathOwnerId = 1;
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.samples.petclinic.vet.Vet;
+import org.springframework.samples.petclinic.vet.VetRepository;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration test for the {@code pc:cache} fragments of the owner details and vet list
+ * pages. Every test saves an owner of its own, so the context is discarded afterwards to
+ * keep the sample data intact for the other tests.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext
+class OwnerDetailsFragmentCacheTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private OwnerRepository owners;
+
+	@Autowired
+	private PetTypeRepository petTypes;
+
+	@Autowired
+	private VetRepository vets;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private Owner newOwner(String firstName) {
+		Owner owner = new Owner();
+		owner.setFirstName(firstName);
+		owner.setLastName("Fragment");
+		owner.setAddress("110 W. Liberty St.");
+		owner.setCity("Madison");
+		owner.setTelephone("6085551023");
+		Pet pet = new Pet();
+		pet.setName("Basil");
+		pet.setBirthDate(LocalDate.of(2020, 3, 4));
+		pet.setType(this.petTypes.findPetTypes().get(0));
+		owner.addPet(pet);
+		return this.owners.save(owner);
+	}
+
+	private String render(MockHttpServletRequestBuilder builder) throws Exception {
+		return this.mockMvc.perform(builder).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+	}
+
+	private double fragmentHits() {
+		FunctionCounter hits = this.meterRegistry.find("cache.gets")
+			.tag("cache", "fragments")
+			.tag("result", "hit")
+			.functionCounter();
+		assertThat(hits).isNotNull();
+		return hits.count();
+	}
+
+	@Test
+	void repeatedRenderServesFragmentsFromTheCache() throws Exception {
+		Owner owner = newOwner("Cached");
+		String first = render(get("/owners/{ownerId}", owner.getId()));
+		double hits = fragmentHits();
+		String second = render(get("/owners/{ownerId}", owner.getId()));
+
+		assertThat(second).isEqualTo(first).contains("Cached Fragment").doesNotContain("pc:cache");
+		assertThat(fragmentHits() - hits).isEqualTo(2);
+	}
+
+	@Test
+	void fragmentsAreCachedPerLocale() throws Exception {
+		Owner owner = newOwner("Localized");
+		render(get("/owners/{ownerId}", owner.getId()));
+
+		assertThat(render(get("/owners/{ownerId}", owner.getId()).param("lang", "de"))).contains("Adresse");
+		assertThat(render(get("/owners/{ownerId}", owner.getId()).param("lang", "en"))).doesNotContain("Adresse");
+	}
+
+	@Test
+	void savingTheOwnerInvalidatesItsFragments() throws Exception {
+		Owner owner = newOwner("Before");
+		assertThat(render(get("/owners/{ownerId}", owner.getId()))).contains("Before Fragment");
+
+		owner.setFirstName("After");
+		this.owners.save(owner);
+
+		assertThat(render(get("/owners/{ownerId}", owner.getId()))).contains("After Fragment")
+			.doesNotContain("Before Fragment");
+	}
+
+	@Test
+	void bookingAVisitInvalidatesTheOwnerFragments() throws Exception {
+		Owner owner = newOwner("Booking");
+		Pet pet = owner.getPets().get(0);
+		assertThat(render(get("/owners/{ownerId}", owner.getId()))).doesNotContain("fragment checkup");
+
+		this.mockMvc
+			.perform(post("/owners/{ownerId}/pets/{petId}/visits/new", owner.getId(), pet.getId())
+				.param("date", "2024-05-06")
+				.param("description", "fragment checkup"))
+			.andExpect(status().is3xxRedirection());
+
+		assertThat(render(get("/owners/{ownerId}", owner.getId()))).contains("fragment checkup");
+	}
+
+	@Test
+	void cachedFragmentsAreNotEvaluatedAgain() throws Exception {
+		Owner owner = newOwner("[[${7*6}]]");
+		render(get("/owners/{ownerId}", owner.getId()));
+
+		assertThat(render(get("/owners/{ownerId}", owner.getId()))).contains("[[${7*6}]] Fragment")
+			.doesNotContain("42 Fragment");
+	}
+
+	@Test
+	void savingAVetInvalidatesTheVetList() throws Exception {
+		Vet vet = this.vets.findAll().stream().filter(candidate -> candidate.getId() == 1).findFirst().orElseThrow();
+		String lastName = vet.getLastName();
+		assertThat(render(get("/vets.html"))).contains(lastName);
+		vet.setLastName("Fragmentary");
+		Vet saved = this.vets.save(vet);
+		try {
+			assertThat(render(get("/vets.html"))).contains("Fragmentary");
+		}
+		finally {
+			saved.setLastName(lastName);
+			this.vets.save(saved);
+		}
+	}
+
+}
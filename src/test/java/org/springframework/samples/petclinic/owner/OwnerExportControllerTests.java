@@ -0,0 +1,90 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.owner;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration test for the streaming owner export of {@link OwnerExportController}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class OwnerExportControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JsonMapper jsonMapper;
+
+	private String export(MediaType mediaType) throws Exception {
+		MvcResult result = this.mockMvc.perform(get("/owners/export").accept(mediaType))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+		return this.mockMvc.perform(asyncDispatch(result))
+			.andExpect(status().isOk())
+			.andExpect(header().string("Content-Disposition", startsWith("attachment")))
+			.andReturn()
+			.getResponse()
+			.getContentAsString();
+	}
+
+	@Test
+	void shouldExportOneJsonDocumentPerOwner() throws Exception {
+		List<JsonNode> owners = export(MediaType.APPLICATION_NDJSON).lines().map(this.jsonMapper::readTree).toList();
+
+		assertThat(owners).extracting(owner -> owner.get("id").asInt()).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+		JsonNode coleman = owners.get(5);
+		assertThat(coleman.get("lastName").asString()).isEqualTo("Coleman");
+		assertThat(coleman.get("pets")).hasSize(2);
+		JsonNode samantha = coleman.get("pets").get(1);
+		assertThat(samantha.get("name").asString()).isEqualTo("Samantha");
+		assertThat(samantha.get("type").asString()).isEqualTo("cat");
+		assertThat(samantha.get("visits")).hasSize(2);
+		assertThat(samantha.get("visits").get(0).get("date").asString()).isEqualTo("2013-01-01");
+	}
+
+	@Test
+	void shouldExportOneCsvRowPerVisit() throws Exception {
+		List<String> rows = export(MediaType.parseMediaType(OwnerExportController.TEXT_CSV_VALUE)).lines().toList();
+
+		assertThat(rows.get(0)).isEqualTo(OwnerExporter.CSV_HEADER);
+		assertThat(rows).contains("6,Jean,Coleman,105 N. Lake St.,Monona,6085552654,7,Samantha,2012-09-04,cat,1,"
+				+ "2013-01-01,rabies shot");
+		assertThat(rows).filteredOn(row -> row.startsWith("1,George,Franklin,")).hasSize(1);
+	}
+
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.owner;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Asserts the number of SQL statements each owner, pet and visit endpoint issues, so that
+ * a change to the fetch plan of the owner aggregate cannot silently reintroduce N+1
+ * selects.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class OwnerFetchPlanTests {
+
+	private static final String PET_TYPES_QUERY = "SELECT ptype FROM PetType ptype ORDER BY ptype.name";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setup() {
+		this.statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	private long statementsFor(String url, Object... uriVars) throws Exception {
+		this.statistics.clear();
+		this.mockMvc.perform(get(url, uriVars)).andExpect(status().isOk());
+		return this.statistics.getPrepareStatementCount();
+	}
+
+	@Test
+	void ownerSearchIssuesSelectAndCount() throws Exception {
+		assertThat(statementsFor("/owners")).isEqualTo(2);
+		assertThat(this.statistics.getCollectionLoadCount()).isZero();
+		assertThat(this.statistics.getEntityLoadCount()).isZero();
+	}
+
+	@Test
+	void ownerSearchLastPageIssuesNoCount() throws Exception {
+		assertThat(statementsFor("/owners?page=2")).isEqualTo(1);
+	}
+
+	@Test
+	void ownerSearchSingleMatchRedirectIssuesNoCount() throws Exception {
+		this.statistics.clear();
+		this.mockMvc.perform(get("/owners").param("lastName", "Franklin")).andExpect(status().is3xxRedirection());
+		assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test
+	void editOwnerFormLoadsNoPets() throws Exception {
+		assertThat(statementsFor("/owners/{ownerId}/edit", 6)).isEqualTo(1);
+		assertThat(this.statistics.getEntityLoadCount()).isEqualTo(1);
+	}
+
+	@Test
+	void ownerDetailsLoadsLatestVisitsInOneStatement() throws Exception {
+		// the owner model attribute, the pets with their types and the latest visits of
+		// all pets
+		assertThat(statementsFor("/owners/{ownerId}", 6)).isEqualTo(3);
+		assertThat(this.statistics.getEntityStatistics(Owner.class.getName()).getLoadCount()).isEqualTo(1);
+		assertThat(this.statistics.getCollectionStatistics(Pet.class.getName() + ".visits").getFetchCount()).isZero();
+	}
+
+	@Test
+	void ownerDetailsRevalidationLoadsOwnerOnly() throws Exception {
+		String eTag = this.mockMvc.perform(get("/owners/{ownerId}", 6))
+			.andExpect(status().isOk())
+			.andReturn()
+			.getResponse()
+			.getHeader(HttpHeaders.ETAG);
+		assertThat(eTag).isNotNull();
+
+		this.statistics.clear();
+		this.mockMvc.perform(get("/owners/{ownerId}", 6).header(HttpHeaders.IF_NONE_MATCH, eTag))
+			.andExpect(status().isNotModified());
+		// only the owner model attribute, which carries the version of the aggregate
+		assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(this.statistics.getCollectionLoadCount()).isZero();
+	}
+
+	@Test
+	void editPetFormLoadsNoVisits() throws Exception {
+		statementsFor("/owners/{ownerId}/pets/{petId}/edit", 6, 7); // warm up the pet
+																	// type cache
+		long statements = statementsFor("/owners/{ownerId}/pets/{petId}/edit", 6, 7);
+		assertThat(this.statistics.getEntityStatistics(Visit.class.getName()).getLoadCount()).isZero();
+		assertThat(this.statistics.getCollectionStatistics(Pet.class.getName() + ".visits").getFetchCount()).isZero();
+		assertThat(this.statistics.getEntityStatistics(Owner.class.getName()).getLoadCount()).isEqualTo(1);
+		// only the edited pet is read, not the other pets of the owner
+		assertThat(this.statistics.getEntityStatistics(Pet.class.getName()).getLoadCount()).isEqualTo(1);
+		assertThat(this.statistics.getCollectionStatistics(Owner.class.getName() + ".pets").getFetchCount()).isZero();
+		// the owner alone and the pet with its type, the pet types of the select are
+		// served from the cache
+		assertThat(statements).isEqualTo(2);
+	}
+
+	@Test
+	void petFormsReadNoReferenceDataOnceCached() throws Exception {
+		statementsFor("/owners/{ownerId}/pets/new", 6); // warm up the second-level cache
+		for (int i = 0; i < 3; i++) {
+			// expire the pet types from the Spring cache, so they are read through the
+			// query cache and the second-level cache
+			this.cacheManager.getCache("petTypes").clear();
+			long newPetStatements = statementsFor("/owners/{ownerId}/pets/new", 6);
+			this.cacheManager.getCache("petTypes").clear();
+			long editPetStatements = statementsFor("/owners/{ownerId}/pets/{petId}/edit", 6, 7);
+
+			assertThat(newPetStatements).isEqualTo(1);
+			assertThat(editPetStatements).isEqualTo(2);
+			assertThat(this.statistics.getQueryStatistics(PET_TYPES_QUERY).getExecutionCount()).isZero();
+			assertThat(this.statistics.getQueryStatistics(PET_TYPES_QUERY).getCacheHitCount()).isEqualTo(1);
+			assertThat(this.statistics.getEntityStatistics(PetType.class.getName()).getFetchCount()).isZero();
+		}
+	}
+
+	@Test
+	void updatePetMergesOwnerWithUninitializedVisits() throws Exception {
+		this.mockMvc
+			.perform(post("/owners/{ownerId}/pets/{petId}/edit", 6, 7).param("name", "Samantha")
+				.param("type", "cat")
+				.param("birthDate", "2012-09-04"))
+			.andExpect(status().is3xxRedirection());
+	}
+
+	@Test
+	@Transactional
+	void bookVisitInsertsVisitOnly() throws Exception {
+		this.statistics.clear();
+		this.mockMvc
+			.perform(post("/owners/{ownerId}/pets/{petId}/visits/new", 6, 7).param("date", "2013-01-05")
+				.param("description", "checkup"))
+			.andExpect(status().is3xxRedirection());
+		// the ownership check, the insert and the version increment of the owner, without
+		// reading the owner aggregate
+		assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(3);
+		assertThat(this.statistics.getEntityLoadCount()).isZero();
+		assertThat(this.statistics.getCollectionLoadCount()).isZero();
+	}
+
+	@Test
+	void newVisitFormLoadsOwnerPetAndLatestVisits() throws Exception {
+		assertThat(statementsFor("/owners/{ownerId}/pets/{petId}/visits/new", 6, 7)).isEqualTo(3);
+		assertThat(this.statistics.getEntityStatistics(Owner.class.getName()).getLoadCount()).isEqualTo(1);
+		assertThat(this.statistics.getCollectionLoadCount()).isZero();
+	}
+
+}
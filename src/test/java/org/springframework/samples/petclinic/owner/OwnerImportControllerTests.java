@@ -0,0 +1,181 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.owner;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration test for the bulk import of {@link OwnerImportController}.
+ */
+@SpringBootTest(properties = "petclinic.import.batch-size=4")
+@AutoConfigureMockMvc
+@Transactional
+class OwnerImportControllerTests {
+
+	private static final MediaType TEXT_CSV = MediaType.parseMediaType(OwnerExportController.TEXT_CSV_VALUE);
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private OwnerImporter importer;
+
+	private String export(MediaType mediaType) throws Exception {
+		MvcResult result = this.mockMvc.perform(get("/owners/export").accept(mediaType)).andReturn();
+		return this.mockMvc.perform(asyncDispatch(result)).andReturn().getResponse().getContentAsString();
+	}
+
+	private int count(String table) {
+		Integer count = this.jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Integer.class);
+		return (count != null) ? count : 0;
+	}
+
+	@Test
+	void shouldImportExportedNdjsonInBatches() throws Exception {
+		String ndjson = export(MediaType.APPLICATION_NDJSON);
+		int owners = count("owners");
+		int pets = count("pets");
+		int visits = count("visits");
+
+		this.mockMvc.perform(post("/owners/import").contentType(MediaType.APPLICATION_NDJSON).content(ndjson))
+			.andExpect(status().isCreated())
+			.andExpect(header().string("Location", containsString("/owners/import/")))
+			.andExpect(jsonPath("$.state").value("COMPLETED"))
+			.andExpect(jsonPath("$.ownersImported").value(owners))
+			.andExpect(jsonPath("$.petsImported").value(pets))
+			.andExpect(jsonPath("$.visitsImported").value(visits))
+			.andExpect(jsonPath("$.batches").value(3));
+
+		assertThat(count("owners")).isEqualTo(2 * owners);
+		assertThat(count("pets")).isEqualTo(2 * pets);
+		assertThat(count("visits")).isEqualTo(2 * visits);
+		assertThat(this.jdbcTemplate.queryForList("SELECT p.name FROM pets p JOIN owners o ON p.owner_id = o.id "
+				+ "WHERE o.last_name = 'Coleman' ORDER BY p.name", String.class))
+			.containsExactly("Max", "Max", "Samantha", "Samantha");
+	}
+
+	@Test
+	void shouldImportExportedCsv() throws Exception {
+		String csv = export(TEXT_CSV);
+		int visits = count("visits");
+
+		this.mockMvc.perform(post("/owners/import").contentType(TEXT_CSV).content(csv))
+			.andExpect(status().isCreated())
+			.andExpect(jsonPath("$.ownersImported").value(10))
+			.andExpect(jsonPath("$.petsImported").value(13))
+			.andExpect(jsonPath("$.visitsImported").value(visits));
+	}
+
+	@Test
+	void shouldRejectInvalidRecordsAndImportTheRest() throws Exception {
+		String csv = OwnerExporter.CSV_HEADER + "\n" //
+				+ ",Joe,Bloggs,1 Main St.,Madison,6085551234,,Rex,2020-01-01,dog,,2024-05-01,\"checkup, shots\"\n" //
+				+ ",Ann,Bloggs,1 Main St.,Madison,12345,,Tom,2020-01-01,dragon,,,\n";
+
+		this.mockMvc
+			.perform(multipart("/owners/import")
+				.file(new MockMultipartFile("file", "owners.csv", "text/csv", csv.getBytes())))
+			.andExpect(status().isCreated())
+			.andExpect(jsonPath("$.ownersImported").value(1))
+			.andExpect(jsonPath("$.visitsImported").value(1))
+			.andExpect(jsonPath("$.rejected").value(1))
+			.andExpect(jsonPath("$.rejections[0].line").value(3))
+			.andExpect(jsonPath("$.rejections[0].reason", containsString("telephone")))
+			.andExpect(jsonPath("$.rejections[0].reason", containsString("pets[0].type: required")));
+
+		assertThat(this.jdbcTemplate.queryForObject(
+				"SELECT description FROM visits v JOIN pets p ON v.pet_id = p.id WHERE p.name = 'Rex'", String.class))
+			.isEqualTo("checkup, shots");
+	}
+
+	@Test
+	void shouldRejectDuplicatePetNamesOfAnOwner() throws Exception {
+		String ndjson = """
+				{"firstName":"Joe","lastName":"Bloggs","address":"1 Main St.","city":"Madison","telephone":"6085551234",\
+				"pets":[{"name":"Rex","birthDate":"2020-01-01","type":"dog"},{"name":"rex","birthDate":"2021-01-01","type":"cat"}]}
+				""";
+
+		this.mockMvc.perform(post("/owners/import").contentType(MediaType.APPLICATION_NDJSON).content(ndjson))
+			.andExpect(status().isCreated())
+			.andExpect(jsonPath("$.ownersImported").value(0))
+			.andExpect(jsonPath("$.rejected").value(1))
+			.andExpect(jsonPath("$.rejections[0].reason").value("pets[1].name: already exists"));
+	}
+
+	@Test
+	void shouldFailOnUnexpectedException() {
+		OwnerImport ownerImport = this.importer.start();
+		OwnerRecordReader reader = new OwnerRecordReader() {
+
+			@Override
+			@Nullable OwnerRecord next() {
+				throw new UncheckedIOException(new IOException("Connection reset"));
+			}
+
+			@Override
+			long line() {
+				return 1;
+			}
+
+		};
+
+		assertThatExceptionOfType(UncheckedIOException.class).isThrownBy(() -> this.importer.run(ownerImport, reader));
+		assertThat(ownerImport.status().state()).isEqualTo(OwnerImport.State.FAILED);
+		assertThat(ownerImport.status().failure()).contains("Connection reset");
+	}
+
+	@Test
+	void shouldFailOnMalformedInput() throws Exception {
+		this.mockMvc
+			.perform(post("/owners/import").contentType(MediaType.APPLICATION_NDJSON).content("{\"firstName\":"))
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.state").value("FAILED"))
+			.andExpect(jsonPath("$.failure", containsString("Line 1")));
+
+		this.mockMvc.perform(get("/owners/import"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$[-1:].state").value("FAILED"));
+	}
+
+}
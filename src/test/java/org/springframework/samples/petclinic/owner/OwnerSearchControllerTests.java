@@ -0,0 +1,68 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Test class for {@link OwnerSearchController}
+ */
+@WebMvcTest(OwnerSearchController.class)
+@DisabledInNativeImage
+@DisabledInAotMode
+class OwnerSearchControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private OwnerSearch search;
+
+	@Test
+	void testSearchReturnsMatchingOwners() throws Exception {
+		given(this.search.search("leo", 10)).willReturn(List
+			.of(new OwnerSummary(1, "George", "Franklin", "110 W. Liberty St.", "Madison", "6085551023", "Leo")));
+
+		mockMvc.perform(get("/owners/search").param("q", "leo"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$[0].id").value(1))
+			.andExpect(jsonPath("$[0].lastName").value("Franklin"))
+			.andExpect(jsonPath("$[0].petNames").value("Leo"));
+	}
+
+	@Test
+	void testSearchCapsLimit() throws Exception {
+		given(this.search.search("davis", 50)).willReturn(List.of());
+
+		mockMvc.perform(get("/owners/search").param("q", "davis").param("limit", "1000"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$").isEmpty());
+	}
+
+}
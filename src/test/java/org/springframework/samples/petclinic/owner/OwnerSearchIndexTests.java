@@ -0,0 +1,55 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Asserts that the case-insensitive prefix search of owners is served by the last name
+ * index of the embedded database. The MySQL and Postgres plans are checked by the
+ * integration tests of those databases.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Import(OwnerSearchPlans.Config.class)
+class OwnerSearchIndexTests {
+
+	@Autowired
+	private OwnerRepository owners;
+
+	@Autowired
+	private OwnerSearchPlans plans;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void prefixSearchUsesLastNameIndex() {
+		List<String> plans = this.plans.explain(this.owners, this.jdbcTemplate, "EXPLAIN", "dav");
+		assertThat(plans).hasSize(6).allSatisfy(plan -> assertThat(plan).containsIgnoringCase("owners_last_name"));
+	}
+
+}
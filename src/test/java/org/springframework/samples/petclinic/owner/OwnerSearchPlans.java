@@ -0,0 +1,128 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Captures the SQL of the owner search queries and explains it against the database, so
+ * that tests can assert that the case-insensitive prefix search and its keyset pagination
+ * are served by an index. Import {@link Config} to register the statement inspector with
+ * Hibernate.
+ */
+public class OwnerSearchPlans implements StatementInspector {
+
+	private final List<String> statements = new CopyOnWriteArrayList<>();
+
+	@Override
+	public String inspect(String sql) {
+		this.statements.add(sql);
+		return sql;
+	}
+
+	/**
+	 * Run the owner search queries, including their count queries and the keyset queries
+	 * in both directions, for the given prefix and explain each statement they issued.
+	 * @param owners the repository to search with
+	 * @param jdbcTemplate the template to run the explain statements with
+	 * @param explain the explain keyword(s) of the database, e.g. <code>EXPLAIN</code>
+	 * @param lastName the prefix to search for
+	 * @param setup statements to run on the connection before explaining
+	 * @return the plan of each statement, in the order they were issued
+	 */
+	public List<String> explain(OwnerRepository owners, JdbcTemplate jdbcTemplate, String explain, String lastName,
+			String... setup) {
+		Map<String, Object[]> sqls = new LinkedHashMap<>();
+		// a page of one forces the count queries for any prefix with several owners, the
+		// prefix comes first and any other parameter is a limit or an offset
+		capture(sqls, () -> owners.findByLastNameStartingWith(lastName, PageRequest.of(0, 1)), lastName, 1, 1);
+		capture(sqls, () -> owners.findSummariesByLastNameStartingWith(lastName, PageRequest.of(0, 1)), lastName, 1, 1);
+		// the keyset queries bind the prefix, the last name and the id of the key and the
+		// limit
+		Map<String, Object> key = Map.of("lastName", lastName, "id", 1);
+		capture(sqls, () -> owners.findSummariesByLastNameStartingWith(lastName, ScrollPosition.forward(key), 1),
+				lastName, lastName, lastName, 1, 2);
+		capture(sqls, () -> owners.findSummariesByLastNameStartingWith(lastName, ScrollPosition.backward(key), 1),
+				lastName, lastName, lastName, 1, 2);
+		List<String> plans = jdbcTemplate.execute((ConnectionCallback<List<String>>) connection -> {
+			try (Statement statement = connection.createStatement()) {
+				for (String sql : setup) {
+					statement.execute(sql);
+				}
+			}
+			List<String> result = new ArrayList<>();
+			for (Map.Entry<String, Object[]> sql : sqls.entrySet()) {
+				try (PreparedStatement statement = connection.prepareStatement(explain + " " + sql.getKey())) {
+					int parameters = statement.getParameterMetaData().getParameterCount();
+					for (int i = 1; i <= parameters; i++) {
+						statement.setObject(i, sql.getValue()[i - 1]);
+					}
+					StringBuilder plan = new StringBuilder();
+					try (ResultSet rows = statement.executeQuery()) {
+						while (rows.next()) {
+							plan.append(rows.getString(1)).append('\n');
+						}
+					}
+					result.add(sql.getKey() + "\n" + plan);
+				}
+			}
+			return result;
+		});
+		return Objects.requireNonNull(plans);
+	}
+
+	private void capture(Map<String, Object[]> sqls, Runnable search, Object... parameters) {
+		this.statements.clear();
+		search.run();
+		for (String sql : this.statements) {
+			sqls.put(sql, parameters);
+		}
+	}
+
+	@TestConfiguration(proxyBeanMethods = false)
+	public static class Config {
+
+		@Bean
+		OwnerSearchPlans ownerSearchPlans() {
+			return new OwnerSearchPlans();
+		}
+
+		@Bean
+		HibernatePropertiesCustomizer ownerSearchPlansCustomizer(OwnerSearchPlans plans) {
+			return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, plans);
+		}
+
+	}
+
+}
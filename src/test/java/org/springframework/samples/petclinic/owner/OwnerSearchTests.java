@@ -0,0 +1,122 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration test of {@link OwnerSearch} against the sample data.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Import(OwnerSearch.class)
+class OwnerSearchTests {
+
+	@Autowired
+	private OwnerSearch search;
+
+	@Autowired
+	private OwnerRepository owners;
+
+	@Autowired
+	private PetRepository pets;
+
+	@Autowired
+	private PetTypeRepository types;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private List<String> search(String query) {
+		return this.search.search(query, 10).stream().map(owner -> owner.firstName() + " " + owner.lastName()).toList();
+	}
+
+	@Test
+	void shouldBeBuiltOnStartup() {
+		assertThat(this.search.isReady()).isTrue();
+	}
+
+	@Test
+	void shouldFindOwnersByAnyWord() {
+		assertThat(search("DAVIS")).containsExactly("Betty Davis", "Harold Davis", "David Schroeder");
+		assertThat(search("harold davis")).containsExactly("Harold Davis");
+		assertThat(search("sun prairie")).containsExactly("Betty Davis");
+		assertThat(search("5551023")).containsExactly("George Franklin");
+		assertThat(search("george")).containsExactly("George Franklin", "Peter McTavish");
+		assertThat(search("leo")).containsExactly("George Franklin");
+	}
+
+	@Test
+	void shouldToleratePrefixesAndTypos() {
+		assertThat(search("Fra")).startsWith("George Franklin");
+		assertThat(search("davsi")).startsWith("Betty Davis", "Harold Davis");
+		assertThat(search("mctavsh")).containsExactly("Peter McTavish");
+	}
+
+	@Test
+	void shouldFindNothingForBlankOrUnknownQueries() {
+		assertThat(search(" ")).isEmpty();
+		assertThat(search("xyzzy")).isEmpty();
+		assertThat(search("davis xyzzy")).isEmpty();
+	}
+
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	void shouldReindexOwnersAndPetsWhenSaved() {
+		Owner owner = new Owner();
+		owner.setFirstName("Zebulon");
+		owner.setLastName("Quackenbush");
+		owner.setAddress("4, Evans Street");
+		owner.setCity("Wollongong");
+		owner.setTelephone("4444444444");
+		this.owners.save(owner);
+		this.search.awaitUpdates();
+		assertThat(search("quackenbush")).containsExactly("Zebulon Quackenbush");
+
+		Pet pet = new Pet();
+		pet.setName("Bartholomew");
+		pet.setType(this.types.findPetTypes().get(0));
+		pet.setOwnerId(owner.getId());
+		this.pets.save(pet);
+		this.search.awaitUpdates();
+		assertThat(search("bartholomew")).containsExactly("Zebulon Quackenbush");
+
+		owner.setLastName("Quackenbosh");
+		this.owners.save(owner);
+		this.search.awaitUpdates();
+		assertThat(search("quackenbosh bartholomew")).containsExactly("Zebulon Quackenbosh");
+	}
+
+	@Test
+	void shouldFallBackToLastNamePrefixUntilBuilt() {
+		OwnerSearch notBuilt = new OwnerSearch(this.owners, this.transactionManager);
+		assertThat(notBuilt.isReady()).isFalse();
+		assertThat(notBuilt.search("Dav", 10)).extracting(OwnerSummary::firstName).containsExactly("Betty", "Harold");
+	}
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the pet lookups of {@link Owner}.
+ */
+class OwnerTests {
+
+	private static Pet pet(String name, Integer id) {
+		Pet pet = new Pet();
+		pet.setName(name);
+		pet.setId(id);
+		return pet;
+	}
+
+	private static Owner owner(Pet... pets) {
+		Owner owner = new Owner();
+		for (Pet pet : pets) {
+			Integer id = pet.getId();
+			pet.setId(null);
+			owner.addPet(pet);
+			pet.setId(id);
+		}
+		return owner;
+	}
+
+	@Test
+	void shouldFindPetsByIdAndCaseInsensitiveName() {
+		Pet leo = pet("Leo", 1);
+		Pet basil = pet("Basil", 2);
+		Owner owner = owner(leo, basil);
+
+		assertThat(owner.getPet(2)).isSameAs(basil);
+		assertThat(owner.getPet(3)).isNull();
+		assertThat(owner.getPet("LEO")).isSameAs(leo);
+		assertThat(owner.getPet("leo", true)).isSameAs(leo);
+		assertThat(owner.getPet("Max")).isNull();
+		assertThat(owner.getPets()).containsExactly(leo, basil);
+	}
+
+	@Test
+	void shouldSeeAddedPets() {
+		Owner owner = owner(pet("Leo", 1));
+		assertThat(owner.getPet("Max")).isNull();
+
+		Pet max = new Pet();
+		max.setName("Max");
+		owner.addPet(max);
+
+		assertThat(owner.getPet("max")).isSameAs(max);
+		assertThat(owner.getPet("max", true)).isNull();
+		assertThat(owner.getPets()).hasSize(2);
+
+		max.setId(7);
+		assertThat(owner.getPet(7)).isSameAs(max);
+		assertThat(owner.getPet("max", true)).isSameAs(max);
+	}
+
+	@Test
+	void shouldSeeRenamedPets() {
+		Pet leo = pet("Leo", 1);
+		Pet basil = pet("Basil", 2);
+		Owner owner = owner(leo, basil);
+		assertThat(owner.getPet("Leo")).isSameAs(leo);
+
+		leo.setName("Basil");
+
+		assertThat(owner.getPet("Leo")).isNull();
+		assertThat(owner.getPet("basil")).isSameAs(leo);
+	}
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration test for the version of the owner aggregate: stale owner and pet forms are
+ * rejected, and the owner details page is revalidated against the version. Every test
+ * saves an owner of its own, so the context is discarded afterwards to keep the sample
+ * data intact for the other tests.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext
+class OwnerVersionTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private OwnerRepository owners;
+
+	@Autowired
+	private PetTypeRepository petTypes;
+
+	private Owner newOwner() {
+		Owner owner = new Owner();
+		owner.setFirstName("Ada");
+		owner.setLastName("Version");
+		owner.setAddress("110 W. Liberty St.");
+		owner.setCity("Madison");
+		owner.setTelephone("6085551023");
+		Pet pet = new Pet();
+		pet.setName("Basil");
+		pet.setBirthDate(LocalDate.of(2020, 3, 4));
+		pet.setType(this.petTypes.findPetTypes().get(0));
+		owner.addPet(pet);
+		return this.owners.save(owner);
+	}
+
+	private MockHttpServletRequestBuilder editOwner(Owner owner, String city, int version) {
+		return post("/owners/{ownerId}/edit", owner.getId()).param("firstName", "Ada")
+			.param("lastName", "Version")
+			.param("address", "110 W. Liberty St.")
+			.param("city", city)
+			.param("telephone", "6085551023")
+			.param("version", String.valueOf(version));
+	}
+
+	private MockHttpServletRequestBuilder editPet(Owner owner, Pet pet, String name, int version) {
+		return post("/owners/{ownerId}/pets/{petId}/edit", owner.getId(), pet.getId()).param("name", name)
+			.param("type", "cat")
+			.param("birthDate", "2020-03-04")
+			.param("version", String.valueOf(version));
+	}
+
+	private String eTagOf(Owner owner) throws Exception {
+		String eTag = this.mockMvc.perform(get("/owners/{ownerId}", owner.getId()))
+			.andExpect(status().isOk())
+			.andReturn()
+			.getResponse()
+			.getHeader(HttpHeaders.ETAG);
+		assertThat(eTag).isNotNull();
+		return eTag;
+	}
+
+	@Test
+	void staleOwnerFormIsRejectedWithConflict() throws Exception {
+		Owner owner = newOwner();
+
+		this.mockMvc.perform(editOwner(owner, "Monona", 0)).andExpect(status().is3xxRedirection());
+		this.mockMvc.perform(editOwner(owner, "Windsor", 0))
+			.andExpect(status().isConflict())
+			.andExpect(content().string(containsString("changed by someone else")))
+			.andExpect(content().string(containsString("name=\"version\" value=\"1\"")));
+
+		assertThat(this.owners.findById(owner.getId()).orElseThrow().getCity()).isEqualTo("Monona");
+	}
+
+	@Test
+	void conflictingOwnerFormCanBeSavedAgain() throws Exception {
+		Owner owner = newOwner();
+
+		this.mockMvc.perform(editOwner(owner, "Monona", 0)).andExpect(status().is3xxRedirection());
+		this.mockMvc.perform(editOwner(owner, "Windsor", 0)).andExpect(status().isConflict());
+		this.mockMvc.perform(editOwner(owner, "Windsor", 1)).andExpect(status().is3xxRedirection());
+
+		assertThat(this.owners.findById(owner.getId()).orElseThrow().getCity()).isEqualTo("Windsor");
+	}
+
+	@Test
+	void stalePetFormIsRejectedWithConflict() throws Exception {
+		Owner owner = newOwner();
+		Pet pet = owner.getPets().get(0);
+
+		this.mockMvc.perform(editPet(owner, pet, "Sage", 0)).andExpect(status().is3xxRedirection());
+		this.mockMvc.perform(editPet(owner, pet, "Thyme", 0))
+			.andExpect(status().isConflict())
+			.andExpect(content().string(containsString("changed by someone else")));
+	}
+
+	@Test
+	void ownerDetailsAreRevalidatedAgainstTheAggregateVersion() throws Exception {
+		Owner owner = newOwner();
+		Pet pet = owner.getPets().get(0);
+		String eTag = eTagOf(owner);
+
+		this.mockMvc.perform(get("/owners/{ownerId}", owner.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+			.andExpect(status().isNotModified());
+
+		this.mockMvc
+			.perform(post("/owners/{ownerId}/pets/{petId}/visits/new", owner.getId(), pet.getId())
+				.param("date", "2024-05-06")
+				.param("description", "version checkup"))
+			.andExpect(status().is3xxRedirection());
+		this.mockMvc.perform(get("/owners/{ownerId}", owner.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+			.andExpect(status().isOk())
+			.andExpect(content().string(containsString("version checkup")));
+
+		String afterVisit = eTagOf(owner);
+		this.mockMvc.perform(editPet(owner, pet, "Sage", 0)).andExpect(status().is3xxRedirection());
+		assertThat(eTagOf(owner)).isNotEqualTo(afterVisit).isNotEqualTo(eTag);
+	}
+
+	@Test
+	void ownerDetailsAreTaggedPerLocale() throws Exception {
+		Owner owner = newOwner();
+		String eTag = eTagOf(owner);
+
+		this.mockMvc
+			.perform(
+					get("/owners/{ownerId}", owner.getId()).param("lang", "de").header(HttpHeaders.IF_NONE_MATCH, eTag))
+			.andExpect(status().isOk())
+			.andExpect(content().string(containsString("Adresse")));
+	}
+
+}
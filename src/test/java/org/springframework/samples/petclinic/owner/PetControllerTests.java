@@ -16,6 +16,7 @@
 
 package org.springframework.samples.petclinic.owner;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -24,15 +25,25 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
@@ -61,9 +72,15 @@ class PetControllerTests {
 	@MockitoBean
 	private OwnerRepository owners;
 
+	@MockitoBean
+	private PetRepository pets;
+
 	@MockitoBean
 	private PetTypeRepository types;
 
+	@MockitoBean
+	private PlatformTransactionManager transactionManager;
+
 	@BeforeEach
 	void setup() {
 		PetType cat = new PetType();
@@ -73,14 +90,12 @@ class PetControllerTests {
 
 		Owner owner = new Owner();
 		Pet pet = new Pet();
-		Pet dog = new Pet();
-		owner.addPet(pet);
-		owner.addPet(dog);
 		pet.setId(TEST_PET_ID);
-		dog.setId(TEST_PET_ID + 1);
 		pet.setName("petty");
-		dog.setName("doggy");
 		given(this.owners.findById(TEST_OWNER_ID)).willReturn(Optional.of(owner));
+		given(this.pets.findByOwnerIdAndId(TEST_OWNER_ID, TEST_PET_ID)).willReturn(Optional.of(pet));
+		given(this.pets.existsByOwnerIdAndName(TEST_OWNER_ID, "petty", null)).willReturn(true);
+		given(this.pets.existsByOwnerIdAndName(TEST_OWNER_ID, "doggy", TEST_PET_ID)).willReturn(true);
 	}
 
 	@Test
@@ -99,6 +114,9 @@ class PetControllerTests {
 				.param("birthDate", "2015-02-12"))
 			.andExpect(status().is3xxRedirection())
 			.andExpect(view().name("redirect:/owners/{ownerId}"));
+		verify(this.pets).save(argThat(pet -> "Betty".equals(pet.getName())
+				&& Integer.valueOf(TEST_OWNER_ID).equals(pet.getOwnerId()) && pet.isNew()));
+		verify(this.owners).incrementVersion(TEST_OWNER_ID);
 	}
 
 	@Nested
@@ -130,6 +148,19 @@ class PetControllerTests {
 				.andExpect(view().name("pets/createOrUpdatePetForm"));
 		}
 
+		@Test
+		void testProcessCreationFormWithConcurrentDuplicateName() throws Exception {
+			given(pets.save(any(Pet.class))).willThrow(new DataIntegrityViolationException("duplicate",
+					new ConstraintViolationException("duplicate", new SQLException(), "PUBLIC.PETS_OWNER_ID_NAME")));
+			mockMvc
+				.perform(post("/owners/{ownerId}/pets/new", TEST_OWNER_ID).param("name", "Betty")
+					.param("type", "hamster")
+					.param("birthDate", "2015-02-12"))
+				.andExpect(model().attributeHasFieldErrorCode("pet", "name", "duplicate"))
+				.andExpect(status().isOk())
+				.andExpect(view().name("pets/createOrUpdatePetForm"));
+		}
+
 		@Test
 		void testProcessCreationFormWithMissingPetType() throws Exception {
 			mockMvc
@@ -179,9 +210,49 @@ class PetControllerTests {
 			.andExpect(view().name("redirect:/owners/{ownerId}"));
 	}
 
+	@Test
+	void testProcessUpdateFormLoadsOwnerOnceWithoutPets() throws Exception {
+		mockMvc
+			.perform(post("/owners/{ownerId}/pets/{petId}/edit", TEST_OWNER_ID, TEST_PET_ID).param("name", "Betty")
+				.param("type", "hamster")
+				.param("birthDate", "2015-02-12"))
+			.andExpect(status().is3xxRedirection());
+		verify(this.owners, times(1)).findById(TEST_OWNER_ID);
+		verify(this.pets, never()).findByOwnerIdOrderByName(anyInt());
+		verify(this.pets)
+			.save(argThat(pet -> "Betty".equals(pet.getName()) && Integer.valueOf(TEST_PET_ID).equals(pet.getId())));
+		verify(this.owners).incrementVersion(TEST_OWNER_ID);
+	}
+
+	@Test
+	void testProcessUpdateFormIgnoresPostedId() throws Exception {
+		mockMvc
+			.perform(post("/owners/{ownerId}/pets/{petId}/edit", TEST_OWNER_ID, TEST_PET_ID).param("id", "42")
+				.param("name", "Betty")
+				.param("type", "hamster")
+				.param("birthDate", "2015-02-12"))
+			.andExpect(status().is3xxRedirection());
+		verify(this.pets).save(argThat(pet -> Integer.valueOf(TEST_PET_ID).equals(pet.getId())));
+	}
+
 	@Nested
 	class ProcessUpdateFormHasErrors {
 
+		@Test
+		void testProcessUpdateFormWithConflictingChange() throws Exception {
+			given(pets.save(any(Pet.class)))
+				.willThrow(new ObjectOptimisticLockingFailureException(Pet.class, TEST_PET_ID));
+			mockMvc
+				.perform(post("/owners/{ownerId}/pets/{petId}/edit", TEST_OWNER_ID, TEST_PET_ID).param("name", "Betty")
+					.param("type", "hamster")
+					.param("birthDate", "2015-02-12")
+					.param("version", "2"))
+				.andExpect(model().attributeHasErrors("pet"))
+				.andExpect(status().isConflict())
+				.andExpect(view().name("pets/createOrUpdatePetForm"));
+			verify(owners, never()).incrementVersion(anyInt());
+		}
+
 		@Test
 		void testProcessUpdateFormWithInvalidBirthDate() throws Exception {
 			mockMvc
@@ -194,6 +265,16 @@ class PetControllerTests {
 				.andExpect(view().name("pets/createOrUpdatePetForm"));
 		}
 
+		@Test
+		void testProcessUpdateFormWithDuplicateName() throws Exception {
+			mockMvc
+				.perform(post("/owners/{ownerId}/pets/{petId}/edit", TEST_OWNER_ID, TEST_PET_ID).param("name", "doggy")
+					.param("type", "hamster")
+					.param("birthDate", "2015-02-12"))
+				.andExpect(model().attributeHasFieldErrorCode("pet", "name", "duplicate"))
+				.andExpect(view().name("pets/createOrUpdatePetForm"));
+		}
+
 		@Test
 		void testProcessUpdateFormWithBlankName() throws Exception {
 			mockMvc
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Integration test of {@link PetRepository} and the unique pet name index.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+class PetRepositoryTests {
+
+	@Autowired
+	private PetRepository pets;
+
+	@Autowired
+	private PetTypeRepository types;
+
+	private Pet newPet(String name) {
+		Pet pet = new Pet();
+		pet.setName(name);
+		pet.setBirthDate(LocalDate.of(2020, 1, 1));
+		pet.setType(this.types.findPetTypes().get(0));
+		pet.setOwnerId(6);
+		return pet;
+	}
+
+	@Test
+	void shouldFindPetOfOwnerOnly() {
+		assertThat(this.pets.findByOwnerIdAndId(6, 7)).get()
+			.satisfies(pet -> assertThat(pet.getName()).isEqualTo("Samantha"))
+			.satisfies(pet -> assertThat(pet.getType()).isNotNull());
+		assertThat(this.pets.findByOwnerIdAndId(1, 7)).isEmpty();
+	}
+
+	@Test
+	void shouldCheckPetNamesIgnoringCase() {
+		assertThat(this.pets.existsByOwnerIdAndName(6, "samantha", null)).isTrue();
+		assertThat(this.pets.existsByOwnerIdAndName(6, "MAX", null)).isTrue();
+		assertThat(this.pets.existsByOwnerIdAndName(6, "Leo", null)).isFalse();
+		assertThat(this.pets.existsByOwnerIdAndName(6, "Samantha", 7)).isFalse();
+		assertThat(this.pets.existsByOwnerIdAndName(6, "Max", 7)).isTrue();
+	}
+
+	@Test
+	void shouldInsertPetForOwner() {
+		Pet pet = this.pets.save(newPet("Bowser"));
+		assertThat(pet.getId()).isNotNull();
+
+		assertThat(this.pets.findByOwnerIdOrderByName(6)).extracting(Pet::getName)
+			.containsExactly("Bowser", "Max", "Samantha");
+	}
+
+	@Test
+	void shouldRejectDuplicatePetNameOfSameOwner() {
+		assertThatExceptionOfType(DataIntegrityViolationException.class).isThrownBy(() -> this.pets.save(newPet("MAX")))
+			.matches(PetRepository::isDuplicateName);
+	}
+
+}
@@ -75,6 +75,20 @@ class PetTypeFormatterTests {
 		});
 	}
 
+	@Test
+	void shouldRebuildIndexWhenPetTypesChange() throws ParseException {
+		List<PetType> petTypes = makePetTypes();
+		given(types.findPetTypes()).willReturn(petTypes);
+		assertThat(petTypeFormatter.parse("Dog", Locale.ENGLISH)).isSameAs(petTypes.get(0));
+
+		List<PetType> changed = new ArrayList<>(petTypes);
+		PetType fish = new PetType();
+		fish.setName("Fish");
+		changed.add(fish);
+		given(types.findPetTypes()).willReturn(changed);
+		assertThat(petTypeFormatter.parse("Fish", Locale.ENGLISH)).isSameAs(fish);
+	}
+
 	/**
 	 * Helper method to produce some sample pet types just for test purpose
 	 * @return {@link Collection} of {@link PetType}
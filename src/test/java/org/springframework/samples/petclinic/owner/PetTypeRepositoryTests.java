@@ -0,0 +1,48 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.annotation.CacheEvict;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test for the cache eviction of {@link PetTypeRepository}.
+ */
+class PetTypeRepositoryTests {
+
+	@Test
+	void everyWriteOperationEvictsThePetTypes() {
+		Arrays.stream(PetTypeRepository.class.getMethods())
+			.filter(method -> method.getDeclaringClass() != PetTypeRepository.class)
+			.filter(method -> Modifier.isAbstract(method.getModifiers()))
+			.filter(method -> method.getName().startsWith("save") || method.getName().startsWith("delete"))
+			.forEach(method -> assertThat(evictingOverride(method)).as(method.toGenericString()).isTrue());
+	}
+
+	private static boolean evictingOverride(Method method) {
+		return Arrays.stream(PetTypeRepository.class.getDeclaredMethods())
+			.filter(candidate -> candidate.getName().equals(method.getName()))
+			.filter(candidate -> candidate.getParameterCount() == method.getParameterCount())
+			.anyMatch(candidate -> candidate.isAnnotationPresent(CacheEvict.class));
+	}
+
+}
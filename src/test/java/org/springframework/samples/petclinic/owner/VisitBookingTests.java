@@ -0,0 +1,110 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Integration test of {@link VisitBooking}.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Import(VisitBooking.class)
+class VisitBookingTests {
+
+	@Autowired
+	private VisitBooking booking;
+
+	@Autowired
+	private VisitRepository visits;
+
+	@Autowired
+	private OwnerRepository owners;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	private Integer versionOf(int ownerId) {
+		this.entityManager.clear();
+		return this.owners.findById(ownerId).orElseThrow().getVersion();
+	}
+
+	private static Visit visit(int petId, String description) {
+		Visit visit = new Visit();
+		visit.setPetId(petId);
+		visit.setDate(LocalDate.of(2014, 1, 1));
+		visit.setDescription(description);
+		return visit;
+	}
+
+	private List<String> descriptions(int ownerId, int petId) {
+		return this.visits.findByOwnerIdAndPetId(ownerId, petId, PageRequest.of(0, 10))
+			.map(Visit::getDescription)
+			.toList();
+	}
+
+	@Test
+	void shouldBookVisitForPetOfOwner() {
+		Visit visit = new Visit();
+		visit.setDescription("checkup");
+
+		Visit saved = this.booking.book(6, 7, visit);
+
+		assertThat(saved.getId()).isNotNull();
+		assertThat(descriptions(6, 7)).containsExactly("checkup", "spayed", "rabies shot");
+	}
+
+	@Test
+	void shouldIncrementVersionOfOwner() {
+		Integer version = versionOf(6);
+
+		this.booking.book(6, List.of(visit(7, "checkup"), visit(8, "dental")));
+
+		assertThat(versionOf(6)).isEqualTo(version + 1);
+	}
+
+	@Test
+	void shouldBookVisitsForSeveralPets() {
+		List<Visit> saved = this.booking.book(6, List.of(visit(7, "checkup"), visit(8, "dental")));
+
+		assertThat(saved).allMatch(visit -> visit.getId() != null);
+		assertThat(descriptions(6, 7)).first().isEqualTo("checkup");
+		assertThat(descriptions(6, 8)).first().isEqualTo("dental");
+	}
+
+	@Test
+	void shouldBookNothingIfAnyPetBelongsToOtherOwner() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> this.booking.book(6, List.of(visit(7, "checkup"), visit(1, "dental"))))
+			.withMessageContaining("[1]");
+
+		assertThat(descriptions(6, 7)).containsExactly("spayed", "rabies shot");
+	}
+
+}
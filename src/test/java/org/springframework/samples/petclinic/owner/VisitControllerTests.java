@@ -16,9 +16,21 @@
 
 package org.springframework.samples.petclinic.owner;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
@@ -28,10 +40,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -55,19 +73,42 @@ class VisitControllerTests {
 	@MockitoBean
 	private OwnerRepository owners;
 
+	@MockitoBean
+	private PetRepository pets;
+
+	@MockitoBean
+	private VisitRepository visits;
+
+	@MockitoBean
+	private VisitBooking booking;
+
 	@BeforeEach
 	void init() {
 		Owner owner = new Owner();
 		Pet pet = new Pet();
-		owner.addPet(pet);
 		pet.setId(TEST_PET_ID);
+		Visit visit = new Visit();
+		visit.setDate(LocalDate.of(2013, 1, 1));
+		visit.setDescription("rabies shot");
 		given(this.owners.findById(TEST_OWNER_ID)).willReturn(Optional.of(owner));
+		given(this.pets.findByOwnerIdAndId(TEST_OWNER_ID, TEST_PET_ID)).willReturn(Optional.of(pet));
+		given(this.visits.findByOwnerIdAndPetId(TEST_OWNER_ID, TEST_PET_ID, PageRequest.of(0, 5)))
+			.willReturn(new SliceImpl<>(List.of(visit), PageRequest.of(0, 5), true));
+		given(this.booking.book(anyInt(), anyList())).willAnswer(invocation -> {
+			List<Visit> booked = new ArrayList<>(invocation.getArgument(1));
+			for (int i = 0; i < booked.size(); i++) {
+				booked.get(i).setId(100 + i);
+			}
+			return booked;
+		});
 	}
 
 	@Test
 	void testInitNewVisitForm() throws Exception {
 		mockMvc.perform(get("/owners/{ownerId}/pets/{petId}/visits/new", TEST_OWNER_ID, TEST_PET_ID))
 			.andExpect(status().isOk())
+			.andExpect(model().attributeExists("owner", "pet", "visit"))
+			.andExpect(content().string(containsString("rabies shot")))
 			.andExpect(view().name("pets/createOrUpdateVisitForm"));
 	}
 
@@ -79,6 +120,9 @@ class VisitControllerTests {
 				.param("description", "Visit Description"))
 			.andExpect(status().is3xxRedirection())
 			.andExpect(view().name("redirect:/owners/{ownerId}"));
+		verify(this.booking).book(eq(TEST_OWNER_ID), eq(TEST_PET_ID),
+				argThat(visit -> "Visit Description".equals(visit.getDescription())));
+		verifyNoInteractions(this.owners, this.pets, this.visits);
 	}
 
 	@Test
@@ -87,8 +131,57 @@ class VisitControllerTests {
 			.perform(post("/owners/{ownerId}/pets/{petId}/visits/new", TEST_OWNER_ID, TEST_PET_ID).param("name",
 					"George"))
 			.andExpect(model().attributeHasErrors("visit"))
+			.andExpect(model().attributeExists("owner", "pet"))
 			.andExpect(status().isOk())
 			.andExpect(view().name("pets/createOrUpdateVisitForm"));
+		verify(this.booking, never()).book(anyInt(), anyInt(), any());
+	}
+
+	@Test
+	void testProcessNewVisits() throws Exception {
+		mockMvc
+			.perform(post("/owners/{ownerId}/visits", TEST_OWNER_ID).contentType(MediaType.APPLICATION_JSON).content("""
+					[{"petId": 1, "date": "2025-01-02", "description": "checkup"},
+					 {"petId": 2, "description": "vaccination"}]
+					"""))
+			.andExpect(status().isCreated())
+			.andExpect(jsonPath("$[0].id").value(100))
+			.andExpect(jsonPath("$[0].petId").value(1))
+			.andExpect(jsonPath("$[0].date").value("2025-01-02"))
+			.andExpect(jsonPath("$[1].id").value(101))
+			.andExpect(jsonPath("$[1].petId").value(2))
+			.andExpect(jsonPath("$[1].date").value(LocalDate.now().toString()))
+			.andExpect(jsonPath("$[1].description").value("vaccination"));
+		verify(this.booking).book(eq(TEST_OWNER_ID), argThat((List<Visit> visits) -> visits.size() == 2));
+	}
+
+	@Test
+	void testVisitEntryWithoutDescription() {
+		Visit visit = new Visit();
+		visit.setPetId(1);
+
+		assertThat(VisitController.VisitEntry.of(visit).description()).isNull();
+	}
+
+	@Test
+	void testProcessNewVisitsWithInvalidVisit() throws Exception {
+		mockMvc
+			.perform(post("/owners/{ownerId}/visits", TEST_OWNER_ID).contentType(MediaType.APPLICATION_JSON).content("""
+					[{"petId": 1, "description": "checkup"}, {"petId": 1, "description": " "}]
+					"""))
+			.andExpect(status().isBadRequest());
+		verify(this.booking, never()).book(anyInt(), anyList());
+	}
+
+	@Test
+	void testProcessNewVisitsForPetOfOtherOwner() throws Exception {
+		given(this.booking.book(anyInt(), anyList()))
+			.willThrow(new IllegalArgumentException("Pets with ids [9] not found for owner with id 1."));
+		mockMvc
+			.perform(post("/owners/{ownerId}/visits", TEST_OWNER_ID).contentType(MediaType.APPLICATION_JSON).content("""
+					[{"petId": 9, "description": "checkup"}]
+					"""))
+			.andExpect(status().isBadRequest());
 	}
 
 }
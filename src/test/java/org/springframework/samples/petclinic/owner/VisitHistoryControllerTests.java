@@ -0,0 +1,82 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Test class for {@link VisitHistoryController}
+ */
+@WebMvcTest(VisitHistoryController.class)
+@DisabledInNativeImage
+@DisabledInAotMode
+class VisitHistoryControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private VisitRepository visits;
+
+	private static Visit visit(String description) {
+		Visit visit = new Visit();
+		visit.setDate(LocalDate.of(2013, 1, 1));
+		visit.setDescription(description);
+		return visit;
+	}
+
+	@Test
+	void testShowVisitsRendersRowsAndNextPageLink() throws Exception {
+		given(this.visits.findByOwnerIdAndPetId(6, 7, PageRequest.of(1, 5)))
+			.willReturn(new SliceImpl<>(List.of(visit("spayed")), PageRequest.of(1, 5), true));
+
+		mockMvc.perform(get("/owners/{ownerId}/pets/{petId}/visits", 6, 7).param("page", "2"))
+			.andExpect(status().isOk())
+			.andExpect(content().string(containsString("<td>spayed</td>")))
+			.andExpect(content().string(containsString("/owners/6/pets/7/visits?page=3")))
+			.andExpect(content().string(not(containsString("<html"))));
+	}
+
+	@Test
+	void testShowVisitsOnLastPageHasNoNextPageLink() throws Exception {
+		given(this.visits.findByOwnerIdAndPetId(6, 7, PageRequest.of(0, 5)))
+			.willReturn(new SliceImpl<>(List.of(visit("rabies shot")), PageRequest.of(0, 5), false));
+
+		mockMvc.perform(get("/owners/{ownerId}/pets/{petId}/visits", 6, 7))
+			.andExpect(status().isOk())
+			.andExpect(content().string(containsString("<td>rabies shot</td>")))
+			.andExpect(content().string(not(containsString("load-more-visits"))));
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration test of {@link VisitRepository}.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+class VisitRepositoryTests {
+
+	@Autowired
+	private VisitRepository visits;
+
+	@Test
+	void shouldPageVisitsOfPetLatestFirst() {
+		Slice<Visit> first = this.visits.findByOwnerIdAndPetId(6, 7, PageRequest.of(0, 1));
+		assertThat(first).extracting(Visit::getDescription).containsExactly("spayed");
+		assertThat(first.hasNext()).isTrue();
+
+		Slice<Visit> second = this.visits.findByOwnerIdAndPetId(6, 7, first.nextPageable());
+		assertThat(second).extracting(Visit::getDescription).containsExactly("rabies shot");
+		assertThat(second.hasNext()).isFalse();
+	}
+
+	@Test
+	void shouldNotPageVisitsOfPetOfOtherOwner() {
+		assertThat(this.visits.findByOwnerIdAndPetId(1, 7, PageRequest.of(0, 5))).isEmpty();
+	}
+
+	@Test
+	void shouldFindFirstPageOfEachPet() {
+		Map<Integer, Slice<Visit>> pages = this.visits.findFirstPageByPetIds(List.of(7, 8, 1), 1);
+
+		assertThat(pages).containsOnlyKeys(7, 8, 1);
+		assertThat(pages.get(7)).extracting(Visit::getDescription).containsExactly("spayed");
+		assertThat(pages.get(7).hasNext()).isTrue();
+		assertThat(pages.get(8)).extracting(Visit::getDescription).containsExactly("neutered");
+		assertThat(pages.get(8).hasNext()).isTrue();
+		assertThat(pages.get(1)).isEmpty();
+		assertThat(pages.get(1).hasNext()).isFalse();
+
+		Slice<Visit> all = this.visits.findFirstPageByPetIds(List.of(7), 2).get(7);
+		assertThat(all).hasSize(2);
+		assertThat(all.hasNext()).isFalse();
+	}
+
+	@Test
+	void shouldOrderVisitsOfTheSameDayByIdInFirstPage() {
+		Visit first = new Visit();
+		first.setDate(LocalDate.of(2030, 1, 1));
+		first.setDescription("first of the day");
+		first.setPetId(1);
+		Visit second = new Visit();
+		second.setDate(LocalDate.of(2030, 1, 1));
+		second.setDescription("second of the day");
+		second.setPetId(1);
+		this.visits.saveAll(List.of(first, second));
+
+		Slice<Visit> page = this.visits.findFirstPageByPetIds(List.of(1, 7), 1).get(1);
+		assertThat(page).extracting(Visit::getDescription).containsExactly("second of the day");
+		assertThat(page.hasNext()).isTrue();
+	}
+
+}
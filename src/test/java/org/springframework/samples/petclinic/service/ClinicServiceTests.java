@@ -27,10 +27,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.samples.petclinic.owner.Owner;
 import org.springframework.samples.petclinic.owner.OwnerRepository;
+import org.springframework.samples.petclinic.owner.OwnerSummary;
 import org.springframework.samples.petclinic.owner.PetTypeRepository;
 import org.springframework.samples.petclinic.owner.Pet;
 import org.springframework.samples.petclinic.owner.PetType;
@@ -93,6 +98,49 @@ class ClinicServiceTests {
 		assertThat(owners).isEmpty();
 	}
 
+	@Test
+	void shouldMatchLikeWildcardsInLastNameLiterally() {
+		assertThat(this.owners.findByLastNameStartingWith("_", pageable)).isEmpty();
+		assertThat(this.owners.findSummariesByLastNameStartingWith("%", PageRequest.of(0, 5))).isEmpty();
+		assertThat(this.owners.countByLastNameStartingWith("_")).isZero();
+		assertThat(this.owners.findSummariesByLastNameStartingWith("\\", ScrollPosition.keyset(), 5)).isEmpty();
+
+		Owner owner = this.owners.findById(1).orElseThrow();
+		owner.setLastName("Frank_lin");
+		this.owners.saveAndFlush(owner);
+		assertThat(this.owners.findByLastNameStartingWith("frank_", pageable)).extracting(Owner::getId)
+			.containsExactly(1);
+	}
+
+	@Test
+	void shouldFindOwnerSummariesByLastName() {
+		Page<OwnerSummary> summaries = this.owners.findSummariesByLastNameStartingWith("Davis", PageRequest.of(0, 5));
+		assertThat(summaries.getTotalElements()).isEqualTo(2);
+		assertThat(summaries).extracting(OwnerSummary::firstName).containsExactly("Betty", "Harold");
+		assertThat(summaries).extracting(OwnerSummary::petNames).containsExactly("Basil", "Iggy");
+
+		summaries = this.owners.findSummariesByLastNameStartingWith("Rodriquez", PageRequest.of(0, 5));
+		assertThat(summaries).extracting(OwnerSummary::petNames).containsExactly("Jewel, Rosy");
+	}
+
+	@Test
+	void shouldScrollOwnerSummariesByLastNameKeyset() {
+		Window<OwnerSummary> first = this.owners.findSummariesByLastNameStartingWith("", ScrollPosition.keyset(), 4);
+		assertThat(first).extracting(OwnerSummary::id).containsExactly(7, 6, 2, 4);
+		assertThat(first.hasNext()).isTrue();
+
+		KeysetScrollPosition last = (KeysetScrollPosition) first.positionAt(first.size() - 1);
+		Window<OwnerSummary> second = this.owners.findSummariesByLastNameStartingWith("",
+				ScrollPosition.forward(last.getKeys()), 4);
+		assertThat(second).extracting(OwnerSummary::id).containsExactly(8, 10, 1, 5);
+
+		KeysetScrollPosition firstOfSecond = (KeysetScrollPosition) second.positionAt(0);
+		Window<OwnerSummary> back = this.owners.findSummariesByLastNameStartingWith("",
+				ScrollPosition.backward(firstOfSecond.getKeys()), 4);
+		assertThat(back).extracting(OwnerSummary::id).containsExactly(7, 6, 2, 4);
+		assertThat(back.hasNext()).isFalse();
+	}
+
 	@Test
 	void shouldFindSingleOwnerWithPet() {
 		Optional<Owner> optionalOwner = this.owners.findById(1);
@@ -104,6 +152,13 @@ class ClinicServiceTests {
 		assertThat(owner.getPets().get(0).getType().getName()).isEqualTo("cat");
 	}
 
+	@Test
+	void shouldFindOwnerWithPetsAndVisitsWithoutDuplicatePets() {
+		Owner owner = this.owners.findWithPetsAndVisitsById(6).orElseThrow();
+		assertThat(owner.getPets()).extracting(Pet::getName).containsExactly("Max", "Samantha");
+		assertThat(owner.getPets().get(1).getVisits()).hasSize(2);
+	}
+
 	@Test
 	@Transactional
 	void shouldInsertOwner() {
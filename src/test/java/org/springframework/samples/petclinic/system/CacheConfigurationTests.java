@@ -0,0 +1,126 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.Set;
+
+import javax.cache.Cache;
+
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.cache.jcache.JCacheCacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.samples.petclinic.PetClinicApplication;
+import org.springframework.samples.petclinic.owner.PetType;
+import org.springframework.samples.petclinic.vet.VetRepository;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Integration test for the cache regions created by {@link CacheConfiguration}.
+ */
+@SpringBootTest(classes = PetClinicApplication.class)
+class CacheConfigurationTests {
+
+	@Autowired
+	private JCacheCacheManager cacheManager;
+
+	@Autowired
+	private VetRepository vets;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@SuppressWarnings("unchecked")
+	private CaffeineConfiguration<Object, Object> configurationOf(String name) {
+		Cache<Object, Object> cache = this.cacheManager.getCacheManager().getCache(name);
+		assertThat(cache).isNotNull();
+		return cache.getConfiguration(CaffeineConfiguration.class);
+	}
+
+	@Test
+	void regionsAreBoundedByConfiguredSizeAndExpiry() {
+		assertThat(this.cacheManager.getCacheNames()).containsAll(CacheConfiguration.CACHE_NAMES);
+		assertThat(configurationOf("vets").getMaximumSize()).isEqualTo(OptionalLong.of(1));
+		assertThat(configurationOf("vetPages").getMaximumSize()).isEqualTo(OptionalLong.of(100));
+		assertThat(configurationOf("vetPages").getExpireAfterWrite())
+			.isEqualTo(OptionalLong.of(Duration.ofMinutes(10).toNanos()));
+	}
+
+	@Test
+	void everySecondLevelCacheRegionIsCreatedUpFront() {
+		Set<String> regions = this.entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+			.getCache()
+			.getCacheRegionNames();
+		assertThat(regions).contains(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+		assertThat(CacheConfiguration.CACHE_NAMES).containsAll(regions);
+	}
+
+	@Test
+	void fullAndPagedVetListingsUseSeparateRegions() {
+		this.vets.findAll();
+		this.vets.findAll(PageRequest.of(0, 5));
+		assertThat(this.cacheManager.getCache("vets").get(SimpleKey.EMPTY)).isNotNull();
+		assertThat(this.cacheManager.getCache("vetPages").get(PageRequest.of(0, 5))).isNotNull();
+	}
+
+	@Test
+	void regionStatisticsAreExposedAsMetrics() {
+		this.vets.findAll();
+		this.vets.findAll();
+		assertThat(this.meterRegistry.find("cache.gets").tag("cache", "vets").tag("result", "hit").functionCounter())
+			.isNotNull();
+		assertThat(this.meterRegistry.find("cache.evictions").tag("cache", "vetPages").meters()).isNotEmpty();
+	}
+
+	@Test
+	void secondLevelCacheRegionStatisticsAreExposedAsMetrics() {
+		for (int i = 0; i < 2; i++) {
+			EntityManager entityManager = this.entityManagerFactory.createEntityManager();
+			try {
+				assertThat(entityManager.find(PetType.class, 1)).isNotNull();
+			}
+			finally {
+				entityManager.close();
+			}
+		}
+		FunctionCounter hits = this.meterRegistry.find("cache.gets")
+			.tag("cache", "petType")
+			.tag("result", "hit")
+			.functionCounter();
+		assertThat(hits).isNotNull();
+		assertThat(hits.count()).isPositive();
+		assertThat(this.meterRegistry.find("cache.gets").tag("cache", "vetSpecialties").meters()).isNotEmpty();
+	}
+
+}
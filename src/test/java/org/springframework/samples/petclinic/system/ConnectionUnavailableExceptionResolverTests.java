@@ -0,0 +1,62 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.system;
+
+import java.sql.SQLTransientConnectionException;
+
+import org.hibernate.exception.JDBCConnectionException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for {@link ConnectionUnavailableExceptionResolver}
+ */
+class ConnectionUnavailableExceptionResolverTests {
+
+	private final ConnectionUnavailableExceptionResolver resolver = new ConnectionUnavailableExceptionResolver();
+
+	@Test
+	void shouldAnswerConnectionTimeoutWithServiceUnavailable() {
+		SQLTransientConnectionException timeout = new SQLTransientConnectionException(
+				"HikariPool-1 - Connection is not available, request timed out after 2000ms.");
+		Exception ex = new CannotCreateTransactionException("Could not open JPA EntityManager for transaction",
+				new JDBCConnectionException("Unable to acquire JDBC Connection", timeout));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		assertThat(this.resolver.resolveException(new MockHttpServletRequest("GET", "/owners/1"), response, null, ex))
+			.isNotNull();
+		assertThat(response.getStatus()).isEqualTo(503);
+		assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+		assertThat(this.resolver.rejected()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldLeaveOtherDataAccessFailuresAlone() {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		assertThat(this.resolver.resolveException(new MockHttpServletRequest("GET", "/owners/1"), response, null,
+				new DataIntegrityViolationException("duplicate"))).isNull();
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(this.resolver.rejected()).isZero();
+	}
+
+}
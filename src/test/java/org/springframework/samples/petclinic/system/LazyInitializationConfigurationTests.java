@@ -0,0 +1,61 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.samples.petclinic.PetClinicApplication;
+import org.springframework.test.context.ActiveProfiles;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test for {@link LazyInitializationConfiguration} with the {@code fast-start} profile.
+ */
+@SpringBootTest(classes = PetClinicApplication.class)
+@ActiveProfiles("fast-start")
+class LazyInitializationConfigurationTests {
+
+	@Autowired
+	private ConfigurableListableBeanFactory beanFactory;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void applicationBeansAreCreatedAtStartup() {
+		assertThat(this.beanFactory.containsSingleton("ownerController")).isTrue();
+		assertThat(this.beanFactory.containsSingleton("vetController")).isTrue();
+		assertThat(this.beanFactory.containsSingleton("petclinicSecondLevelCacheCustomizer")).isTrue();
+	}
+
+	@Test
+	void otherBeansAreCreatedOnFirstUse() {
+		assertThat(this.beanFactory.getBeanDefinition("jdbcClient").isLazyInit()).isTrue();
+		assertThat(this.beanFactory.containsSingleton("jdbcClient")).isFalse();
+		assertThat(this.beanFactory.containsSingleton("restClientBuilder")).isFalse();
+	}
+
+	@Test
+	void cachesAreBoundToTheMeterRegistry() {
+		assertThat(this.meterRegistry.find("cache.gets").tag("cache", "fragments").functionCounter()).isNotNull();
+	}
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for {@link VirtualThreadConfiguration}
+ */
+class VirtualThreadConfigurationTests {
+
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+		.withUserConfiguration(VirtualThreadConfiguration.class);
+
+	@Test
+	void shouldNotGuardPlatformThreads() {
+		this.contextRunner
+			.run(context -> assertThat(context).doesNotHaveBean(ConnectionUnavailableExceptionResolver.class)
+				.doesNotHaveBean(VirtualThreadPinningMetrics.class));
+	}
+
+	@Test
+	@EnabledForJreRange(min = JRE.JAVA_21)
+	void shouldGuardVirtualThreadsAtConnectionAcquisition() {
+		this.contextRunner.withPropertyValues("spring.threads.virtual.enabled=true")
+			.run(context -> assertThat(context).hasSingleBean(ConnectionUnavailableExceptionResolver.class)
+				.hasSingleBean(VirtualThreadPinningMetrics.class));
+	}
+
+	@Test
+	void pinningMetricsShouldRegisterTimer() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		VirtualThreadPinningMetrics metrics = new VirtualThreadPinningMetrics(Duration.ofMillis(20));
+		try {
+			metrics.bindTo(registry);
+			assertThat(registry.get("jvm.threads.virtual.pinned").timer().count()).isZero();
+		}
+		finally {
+			metrics.destroy();
+		}
+	}
+
+}
@@ -22,8 +22,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -31,6 +33,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -41,6 +44,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  */
 
 @WebMvcTest(VetController.class)
+@Import(VetsRepresentations.class)
 @DisabledInNativeImage
 @DisabledInAotMode
 class VetControllerTests {
@@ -97,4 +101,60 @@ class VetControllerTests {
 			.andExpect(jsonPath("$.vetList[0].id").value(1));
 	}
 
+	@Test
+	void testShowResourcesVetListNotModified() throws Exception {
+		String eTag = mockMvc.perform(get("/vets").accept(MediaType.APPLICATION_JSON))
+			.andExpect(status().isOk())
+			.andExpect(header().exists(HttpHeaders.ETAG))
+			.andReturn()
+			.getResponse()
+			.getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/vets").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, eTag))
+			.andExpect(status().isNotModified())
+			.andExpect(content().bytes(new byte[0]));
+	}
+
+	@Test
+	void testShowResourcesVetListXml() throws Exception {
+		String jsonETag = mockMvc.perform(get("/vets").accept(MediaType.APPLICATION_JSON))
+			.andReturn()
+			.getResponse()
+			.getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/vets").accept(MediaType.APPLICATION_XML))
+			.andExpect(status().isOk())
+			.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_XML))
+			.andExpect(header().string(HttpHeaders.ETAG, not(jsonETag)))
+			.andExpect(xpath("/vets/vetList[1]/id").string("1"));
+	}
+
+	@Test
+	void testShowResourcesVetListChangedVets() throws Exception {
+		String eTag = mockMvc.perform(get("/vets").accept(MediaType.APPLICATION_JSON))
+			.andReturn()
+			.getResponse()
+			.getHeader(HttpHeaders.ETAG);
+		given(this.vets.findAll()).willReturn(Lists.newArrayList(helen()));
+
+		mockMvc.perform(get("/vets").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, eTag))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.vetList[0].id").value(2));
+	}
+
+	@Test
+	void testShowResourcesVetListHonoursQualityValues() throws Exception {
+		mockMvc.perform(get("/vets").header(HttpHeaders.ACCEPT, "application/json;q=0.5, application/xml"))
+			.andExpect(status().isOk())
+			.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_XML));
+		mockMvc.perform(get("/vets").header(HttpHeaders.ACCEPT, "text/plain, */*;q=0.1"))
+			.andExpect(status().isOk())
+			.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+	}
+
+	@Test
+	void testShowResourcesVetListNotAcceptable() throws Exception {
+		mockMvc.perform(get("/vets").accept(MediaType.TEXT_PLAIN)).andExpect(status().isNotAcceptable());
+	}
+
 }
@@ -15,6 +15,8 @@
  */
 package org.springframework.samples.petclinic.vet;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.util.SerializationUtils;
 
@@ -38,4 +40,26 @@ class VetTests {
 		assertThat(other.getId()).isEqualTo(vet.getId());
 	}
 
+	@Test
+	void testSpecialtiesAreSortedOnceUntilChanged() {
+		Vet vet = new Vet();
+		vet.addSpecialty(specialty(1, "surgery"));
+		vet.addSpecialty(specialty(2, "dentistry"));
+
+		List<Specialty> specialties = vet.getSpecialties();
+		assertThat(specialties).extracting(Specialty::getName).containsExactly("dentistry", "surgery");
+		assertThat(vet.getSpecialties()).isSameAs(specialties);
+
+		vet.addSpecialty(specialty(3, "radiology"));
+		assertThat(vet.getSpecialties()).extracting(Specialty::getName)
+			.containsExactly("dentistry", "radiology", "surgery");
+	}
+
+	private static Specialty specialty(int id, String name) {
+		Specialty specialty = new Specialty();
+		specialty.setId(id);
+		specialty.setName(name);
+		return specialty;
+	}
+
 }